@@ -1,9 +1,12 @@
 package com.post.hub.iamservice.advice;
 
+import com.post.hub.iamservice.model.constants.ApiLogMessage;
 import com.post.hub.iamservice.model.exception.DataExistException;
 import com.post.hub.iamservice.model.exception.InvalidDataException;
 import com.post.hub.iamservice.model.exception.InvalidPasswordException;
 import com.post.hub.iamservice.model.exception.NotFoundException;
+import com.post.hub.iamservice.model.exception.TooManyRequestsException;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,7 +27,7 @@ public class CommonControllerAdvice {
     @ExceptionHandler
     @ResponseBody
     protected ResponseEntity<String> handleNotFoundException(NotFoundException ex) {
-        logStackTrace(ex);
+        log.debug(ApiLogMessage.RESOURCE_NOT_FOUND.getValue(), ex.getMessage());
 
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
@@ -62,6 +65,15 @@ public class CommonControllerAdvice {
                 .body(errors.toString());
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseBody
+    protected ResponseEntity<String> handleConstraintViolationException(ConstraintViolationException ex) {
+        logStackTrace(ex);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(AuthenticationException.class)
     @ResponseBody
     protected ResponseEntity<String> handleAuthenticationException(AuthenticationException ex) {
@@ -87,6 +99,14 @@ public class CommonControllerAdvice {
         return ex.getMessage();
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseBody
+    protected ResponseEntity<String> handleTooManyRequestsException(TooManyRequestsException ex) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     @ResponseBody
     protected ResponseEntity<String> handleAccessDeniedException(AccessDeniedException ex) {
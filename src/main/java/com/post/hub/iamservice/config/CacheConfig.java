@@ -0,0 +1,66 @@
+package com.post.hub.iamservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.post.hub.iamservice.model.constants.CacheNames;
+import com.post.hub.iamservice.model.exception.NotFoundException;
+import com.post.hub.iamservice.service.cache.CoalescingCaffeineCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+
+// Caching wraps the transactional proxy, so evictions run after the write has committed
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.entity.ttl:5m}") Duration ttl,
+                                     @Value("${cache.entity.max.size:10000}") long maxSize,
+                                     @Value("${cache.missing.ttl:1m}") Duration missingTtl,
+                                     @Value("${cache.missing.max.size:10000}") long missingMaxSize,
+                                     MeterRegistry meterRegistry) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                Cache<Object, NotFoundException> missing = Caffeine.newBuilder()
+                        .expireAfterWrite(missingTtl)
+                        .maximumSize(missingMaxSize)
+                        .build();
+                return new CoalescingCaffeineCache(name, cache, missing, isAllowNullValues(), meterRegistry);
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(CacheNames.POSTS, CacheNames.USERS, CacheNames.COMMENTS));
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+
+    // cache.gets is published per cache by the actuator, this adds the ratio dashboards alert on
+    @Bean
+    public MeterBinder cacheHitRatioMetrics(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(name -> {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                Gauge.builder("cache.hit.ratio", cache.getNativeCache(), nativeCache -> nativeCache.stats().hitRate())
+                        .tag("cache", name)
+                        .description("Share of lookups served from the cache since startup")
+                        .register(registry);
+            }
+        });
+    }
+
+}
@@ -41,7 +41,8 @@ public class SecurityConfig {
             "/swagger-ui/**",
             "/swagger-ui.html",
             "/webjars/**",
-            "/actuator/**"
+            "/actuator/**",
+            "/auth/availability"
     };
 
     private static final String[] ADMIN_ACCESS_URLS = {"/users/**"};
@@ -1,12 +1,16 @@
 package com.post.hub.iamservice.controller;
 
+import com.post.hub.iamservice.model.constants.ApiConstants;
 import com.post.hub.iamservice.model.constants.ApiLogMessage;
+import com.post.hub.iamservice.model.dto.user.UserAvailabilityDTO;
 import com.post.hub.iamservice.model.dto.user.UserProfileDTO;
 import com.post.hub.iamservice.model.request.user.ChangePasswordRequest;
 import com.post.hub.iamservice.model.request.user.LoginRequest;
 import com.post.hub.iamservice.model.request.user.RegistrationUserRequest;
 import com.post.hub.iamservice.model.response.IamResponse;
+import com.post.hub.iamservice.security.AvailabilityRateLimiter;
 import com.post.hub.iamservice.service.AuthService;
+import com.post.hub.iamservice.service.UserAvailabilityService;
 import com.post.hub.iamservice.utils.ApiUtils;
 import com.post.hub.iamservice.utils.CookieUtils;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,8 +18,10 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
@@ -32,6 +38,8 @@ import java.time.Duration;
 @RequestMapping("${endpoint.auth}")
 public class AuthController {
     private final AuthService authService;
+    private final UserAvailabilityService userAvailabilityService;
+    private final AvailabilityRateLimiter availabilityRateLimiter;
 
     @PostMapping("${endpoint.login}")
     @ApiResponses(value = {
@@ -107,6 +115,23 @@ public class AuthController {
     }
 
 
+    @GetMapping("${endpoint.availability}")
+    @Operation(
+            summary = "Check username and email availability",
+            description = "Answers from an in-memory index and suggests free usernames when the requested one is taken"
+    )
+    public ResponseEntity<IamResponse<UserAvailabilityDTO>> checkAvailability(
+            @RequestParam(name = "username", required = false) @Size(max = ApiConstants.USERNAME_MAX_LENGTH) String username,
+            @RequestParam(name = "email", required = false) @Size(max = ApiConstants.EMAIL_MAX_LENGTH) String email,
+            HttpServletRequest request) {
+        log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+
+        availabilityRateLimiter.acquire(request.getRemoteAddr());
+
+        IamResponse<UserAvailabilityDTO> result = userAvailabilityService.checkAvailability(username, email);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("${endpoint.logout}")
     @Operation(summary = "Logout", description = "Logout")
     public ResponseEntity<Void> logout(HttpServletResponse response) {
@@ -3,6 +3,7 @@ package com.post.hub.iamservice.controller;
 import com.post.hub.iamservice.model.constants.ApiLogMessage;
 import com.post.hub.iamservice.model.dto.comment.CommentDTO;
 import com.post.hub.iamservice.model.dto.comment.CommentSearchDTO;
+import com.post.hub.iamservice.model.enums.CountMode;
 import com.post.hub.iamservice.model.request.comment.CommentRequest;
 import com.post.hub.iamservice.model.request.comment.CommentSearchRequest;
 import com.post.hub.iamservice.model.request.comment.UpdateCommentRequest;
@@ -10,10 +11,13 @@ import com.post.hub.iamservice.model.response.IamResponse;
 import com.post.hub.iamservice.model.response.PaginationResponse;
 import com.post.hub.iamservice.service.CommentService;
 import com.post.hub.iamservice.utils.ApiUtils;
+import com.post.hub.iamservice.utils.HttpCacheUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +33,9 @@ public class CommentController {
 
     private final CommentService commentService;
 
+    @Value("${pagination.max.limit:100}")
+    private int maxLimit;
+
     @PostMapping
     @Operation(summary = "Create a new Comment", description = "Adds a new comment to a post")
     public ResponseEntity<IamResponse<CommentDTO>> createComment(
@@ -62,34 +69,46 @@ public class CommentController {
         log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
 
         IamResponse<CommentDTO> response = commentService.getCommentById(commentId);
-        return ResponseEntity.ok(response);
+        return HttpCacheUtils.versioned(response, commentId, response.getPayload().getUpdated());
     }
 
     @GetMapping
-    @Operation(summary = "Get all Comments", description = "Retrieves a paginated list of all comments")
+    @Operation(summary = "Get all Comments", description = "Retrieves a paginated list of all comments. Pass after (empty for the first page) to switch to cursor pagination, count=APPROXIMATE|NONE to skip the exact total")
     public ResponseEntity<IamResponse<PaginationResponse<CommentSearchDTO>>> getAllComments(
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "limit", defaultValue = "10") int limit
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) int limit,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "count", defaultValue = "EXACT") CountMode countMode
     ) {
         log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
-
-        Pageable pageable = PageRequest.of(page, limit);
-
-        IamResponse<PaginationResponse<CommentSearchDTO>> response = commentService.findAllComments(pageable);
-        return ResponseEntity.ok(response);
+        int pageSize = Math.min(limit, maxLimit);
+
+        IamResponse<PaginationResponse<CommentSearchDTO>> response = after != null
+                ? commentService.findAllCommentsAfter(after, pageSize)
+                : commentService.findAllComments(PageRequest.of(page, pageSize), countMode);
+        return ResponseEntity.ok()
+                .eTag(HttpCacheUtils.pageEtag(response.getPayload(), CommentSearchDTO::getId, CommentSearchDTO::getUpdated))
+                .body(response);
     }
 
     @PostMapping("${endpoint.search}")
-    @Operation(summary = "Search Comments", description = "Search for comments using filters and pagination")
+    @Operation(summary = "Search Comments", description = "Search for comments using filters and pagination. Pass after (empty for the first page) to switch to cursor pagination, count=APPROXIMATE|NONE to skip the exact total")
     public ResponseEntity<IamResponse<PaginationResponse<CommentSearchDTO>>> searchComments(
             @RequestBody @Valid CommentSearchRequest request,
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "limit", defaultValue = "10") int limit
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) int limit,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "count", defaultValue = "EXACT") CountMode countMode
     ) {
         log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+        int pageSize = Math.min(limit, maxLimit);
+
+        if (after != null) {
+            return ResponseEntity.ok(commentService.searchCommentsAfter(request, after, pageSize));
+        }
 
-        Pageable pageable = PageRequest.of(page, limit);
-        IamResponse<PaginationResponse<CommentSearchDTO>> response = commentService.searchComments(request, pageable);
+        Pageable pageable = PageRequest.of(page, pageSize);
+        IamResponse<PaginationResponse<CommentSearchDTO>> response = commentService.searchComments(request, pageable, countMode);
 
         return ResponseEntity.ok(response);
     }
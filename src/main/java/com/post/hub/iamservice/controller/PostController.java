@@ -1,19 +1,33 @@
 package com.post.hub.iamservice.controller;
 
+import com.post.hub.iamservice.model.constants.ApiConstants;
 import com.post.hub.iamservice.model.constants.ApiLogMessage;
+import com.post.hub.iamservice.model.dto.comment.CommentSearchDTO;
+import com.post.hub.iamservice.model.dto.post.PostAutocompleteDTO;
+import com.post.hub.iamservice.model.dto.post.PostBatchDTO;
 import com.post.hub.iamservice.model.dto.post.PostDTO;
+import com.post.hub.iamservice.model.dto.post.PostLikeDTO;
 import com.post.hub.iamservice.model.dto.post.PostSearchDTO;
+import com.post.hub.iamservice.model.dto.post.PostTrendingDTO;
+import com.post.hub.iamservice.model.enums.CountMode;
 import com.post.hub.iamservice.model.request.post.NewPostRequest;
 import com.post.hub.iamservice.model.request.post.PostSearchRequest;
 import com.post.hub.iamservice.model.request.post.UpdatePostRequest;
 import com.post.hub.iamservice.model.response.IamResponse;
 import com.post.hub.iamservice.model.response.PaginationResponse;
+import com.post.hub.iamservice.service.CommentService;
 import com.post.hub.iamservice.service.PostService;
 import com.post.hub.iamservice.utils.ApiUtils;
+import com.post.hub.iamservice.utils.HttpCacheUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +35,8 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Slf4j
 @Validated
@@ -30,6 +46,19 @@ import java.security.Principal;
 public class PostController {
 
     private final PostService postService;
+    private final CommentService commentService;
+
+    @Value("${http.cache.control.post:no-cache}")
+    private String postCacheControl;
+
+    @Value("${http.cache.control.post.list:no-cache}")
+    private String postListCacheControl;
+
+    @Value("${http.cache.control.post.trending:no-cache}")
+    private String trendingCacheControl;
+
+    @Value("${pagination.max.limit:100}")
+    private int maxLimit;
 
     @PostMapping
     @Operation(summary = "Create a new Post", description = "Adds a new post to the system")
@@ -63,33 +92,123 @@ public class PostController {
         log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
 
         IamResponse<PostDTO> response = postService.getById(postId);
-        return ResponseEntity.ok(response);
+        PostDTO post = response.getPayload();
+        return HttpCacheUtils.versioned(response, postId, post.getUpdated(), postCacheControl,
+                List.of(HttpCacheUtils.postKey(postId)));
+    }
+
+    @GetMapping("${endpoint.batch}")
+    @Operation(summary = "Get Posts by IDs", description = "Retrieves several posts in one call, keyed by ID in request order. IDs without a live post map to null")
+    public ResponseEntity<IamResponse<PostBatchDTO>> getPostsByIds(
+            @RequestParam(name = "ids") @NotEmpty List<Integer> postIds
+    ) {
+        log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+
+        IamResponse<PostBatchDTO> response = postService.getByIds(postIds);
+        List<String> surrogateKeys = response.getPayload().getPosts().keySet().stream()
+                .map(HttpCacheUtils::postKey)
+                .toList();
+        return HttpCacheUtils.shared(postListCacheControl, surrogateKeys).body(response);
     }
 
     @GetMapping
-    @Operation(summary = "Get all Posts", description = "Retrieves a paginated list of all posts")
+    @Operation(summary = "Get all Posts", description = "Retrieves a paginated list of all posts. Pass after (empty for the first page) to switch to cursor pagination, count=APPROXIMATE|NONE to skip the exact total")
     public ResponseEntity<IamResponse<PaginationResponse<PostSearchDTO>>> getAllPosts(
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "limit", defaultValue = "10") int limit
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) int limit,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "count", defaultValue = "EXACT") CountMode countMode
+    ) {
+        log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+        int pageSize = Math.min(limit, maxLimit);
+
+        IamResponse<PaginationResponse<PostSearchDTO>> response = after != null
+                ? postService.findAllPostsAfter(after, pageSize)
+                : postService.findAllPosts(PageRequest.of(page, pageSize), countMode);
+        return HttpCacheUtils.shared(postListCacheControl, surrogateKeys(response.getPayload().getContent()))
+                .eTag(HttpCacheUtils.pageEtag(response.getPayload(), PostSearchDTO::getId, PostSearchDTO::getUpdated))
+                .body(response);
+    }
+
+    @GetMapping("${endpoint.autocomplete}")
+    @Operation(summary = "Autocomplete Post titles", description = "Suggests titles of live posts starting with the prefix, most liked first")
+    public ResponseEntity<IamResponse<PostAutocompleteDTO>> autocompleteTitles(
+            @RequestParam(name = "prefix") @NotBlank @Size(max = ApiConstants.POST_TITLE_MAX_LENGTH) String prefix,
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) int limit
     ) {
         log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
 
-        Pageable pageable = PageRequest.of(page, limit);
-        IamResponse<PaginationResponse<PostSearchDTO>> response = postService.findAllPosts(pageable);
+        IamResponse<PostAutocompleteDTO> response = postService.suggestTitles(prefix, limit);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("${endpoint.trending}")
+    @Operation(summary = "Get trending Posts", description = "Retrieves live posts ranked by likes, where recent likes and new posts weigh more")
+    public ResponseEntity<IamResponse<PostTrendingDTO>> getTrendingPosts(
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) int limit
+    ) {
+        log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+
+        IamResponse<PostTrendingDTO> response = postService.findTrendingPosts(limit);
+        List<PostSearchDTO> posts = response.getPayload().getPosts();
+        return HttpCacheUtils.shared(trendingCacheControl, surrogateKeys(posts))
+                .eTag(HttpCacheUtils.pageEtag(posts, PostSearchDTO::getId, PostSearchDTO::getUpdated, limit))
+                .body(response);
+    }
+
     @PostMapping("${endpoint.search}")
-    @Operation(summary = "Search Posts", description = "Searches for posts based on filters and pagination")
+    @Operation(summary = "Search Posts", description = "Searches for posts based on filters and pagination. Pass after (empty for the first page) to switch to cursor pagination, count=APPROXIMATE|NONE to skip the exact total")
     public ResponseEntity<IamResponse<PaginationResponse<PostSearchDTO>>> searchPosts(
             @RequestBody @Valid PostSearchRequest request,
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "limit", defaultValue = "10") int limit
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) int limit,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "count", defaultValue = "EXACT") CountMode countMode
     ) {
         log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+        int pageSize = Math.min(limit, maxLimit);
+
+        if (after != null) {
+            return ResponseEntity.ok(postService.searchPostsAfter(request, after, pageSize));
+        }
 
-        Pageable pageable = PageRequest.of(page, limit);
-        IamResponse<PaginationResponse<PostSearchDTO>> response = postService.searchPosts(request, pageable);
+        Pageable pageable = PageRequest.of(page, pageSize);
+        IamResponse<PaginationResponse<PostSearchDTO>> response = postService.searchPosts(request, pageable, countMode);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("${endpoint.id}${endpoint.comments}")
+    @Operation(summary = "Get comments of a Post", description = "Retrieves live comments of a post, newest first. Pass the nextCursor of a page as after to read the next one")
+    public ResponseEntity<IamResponse<PaginationResponse<CommentSearchDTO>>> getPostComments(
+            @PathVariable(name = "id") Integer postId,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", defaultValue = "20") @Min(1) int limit
+    ) {
+        log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+
+        IamResponse<PaginationResponse<CommentSearchDTO>> response = commentService.findPostCommentsAfter(postId, after, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("${endpoint.id}${endpoint.like}")
+    @Operation(summary = "Like a Post", description = "Likes a post on behalf of the current user. Liking an already liked post changes nothing")
+    public ResponseEntity<IamResponse<PostLikeDTO>> likePostById(
+            @PathVariable(name = "id") Integer postId
+    ) {
+        log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+
+        IamResponse<PostLikeDTO> response = postService.likePost(postId);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("${endpoint.id}${endpoint.like}")
+    @Operation(summary = "Unlike a Post", description = "Removes the like of the current user from a post. Unliking a post that is not liked changes nothing")
+    public ResponseEntity<IamResponse<PostLikeDTO>> unlikePostById(
+            @PathVariable(name = "id") Integer postId
+    ) {
+        log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+
+        IamResponse<PostLikeDTO> response = postService.unlikePost(postId);
         return ResponseEntity.ok(response);
     }
 
@@ -104,4 +223,11 @@ public class PostController {
         return ResponseEntity.noContent().build();
     }
 
+    // A list page is purged along with any post on it; new posts reach cached pages when their s-maxage runs out
+    private List<String> surrogateKeys(List<PostSearchDTO> posts) {
+        return Stream.concat(Stream.of(HttpCacheUtils.POSTS_KEY),
+                        posts.stream().map(post -> HttpCacheUtils.postKey(post.getId())))
+                .toList();
+    }
+
 }
@@ -1,24 +1,40 @@
 package com.post.hub.iamservice.controller;
 
+import com.post.hub.iamservice.model.constants.ApiConstants;
 import com.post.hub.iamservice.model.constants.ApiLogMessage;
+import com.post.hub.iamservice.model.dto.user.UserBatchDTO;
 import com.post.hub.iamservice.model.dto.user.UserDTO;
 import com.post.hub.iamservice.model.dto.user.UserSearchDTO;
+import com.post.hub.iamservice.model.enums.CountMode;
 import com.post.hub.iamservice.model.request.user.NewUserRequest;
 import com.post.hub.iamservice.model.request.user.UpdateUserRequest;
 import com.post.hub.iamservice.model.request.user.UserSearchRequest;
 import com.post.hub.iamservice.model.response.IamResponse;
 import com.post.hub.iamservice.model.response.PaginationResponse;
+import com.post.hub.iamservice.service.UserExportService;
+import com.post.hub.iamservice.service.UserImportService;
 import com.post.hub.iamservice.service.UserService;
 import com.post.hub.iamservice.utils.ApiUtils;
+import com.post.hub.iamservice.utils.HttpCacheUtils;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -27,6 +43,11 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("${endpoint.users}")
 public class UserController {
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final UserExportService userExportService;
+
+    @Value("${pagination.max.limit:100}")
+    private int maxLimit;
 
     @PostMapping
     @Operation(summary = "Create a new User [only for Admins]", description = "Registers a new user in the system")
@@ -59,35 +80,94 @@ public class UserController {
         log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
 
         IamResponse<UserDTO> response = userService.getById(userId);
+        return HttpCacheUtils.versioned(response, userId, response.getPayload().getUpdated());
+    }
+
+    @GetMapping("${endpoint.batch}")
+    @Operation(summary = "Get Users by IDs", description = "Retrieves several users in one call, keyed by ID in request order. IDs without a live user map to null")
+    public ResponseEntity<IamResponse<UserBatchDTO>> getUsersByIds(
+            @RequestParam(name = "ids") @NotEmpty List<Integer> userIds
+    ) {
+        log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+
+        IamResponse<UserBatchDTO> response = userService.getByIds(userIds);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
-    @Operation(summary = "Get all Users", description = "Retrieves a paginated list of all registered users")
+    @Operation(summary = "Get all Users", description = "Retrieves a paginated list of all registered users. Pass after (empty for the first page) to switch to cursor pagination, count=APPROXIMATE|NONE to skip the exact total")
     public ResponseEntity<IamResponse<PaginationResponse<UserSearchDTO>>> getAllUsers(
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) int limit,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "count", defaultValue = "EXACT") CountMode countMode) {
         log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
-
-        Pageable pageable = PageRequest.of(page, limit);
-        IamResponse<PaginationResponse<UserSearchDTO>> response = userService.findAllUsers(pageable);
-        return ResponseEntity.ok(response);
+        int pageSize = Math.min(limit, maxLimit);
+
+        IamResponse<PaginationResponse<UserSearchDTO>> response = after != null
+                ? userService.findAllUsersAfter(after, pageSize)
+                : userService.findAllUsers(PageRequest.of(page, pageSize), countMode);
+        return ResponseEntity.ok()
+                .eTag(HttpCacheUtils.pageEtag(response.getPayload(), UserSearchDTO::getId, UserSearchDTO::getUpdated))
+                .body(response);
     }
 
 
     @PostMapping("${endpoint.search}")
-    @Operation(summary = "Search Users", description = "Filters users based on search criteria and pagination settings")
+    @Operation(summary = "Search Users", description = "Filters users based on search criteria and pagination settings. Pass after (empty for the first page) to switch to cursor pagination, count=APPROXIMATE|NONE to skip the exact total")
     public ResponseEntity<IamResponse<PaginationResponse<UserSearchDTO>>> searchUsers(
             @RequestBody @Valid UserSearchRequest request,
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) int limit,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "count", defaultValue = "EXACT") CountMode countMode) {
         log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+        int pageSize = Math.min(limit, maxLimit);
 
-        Pageable pageable = PageRequest.of(page, limit);
-        IamResponse<PaginationResponse<UserSearchDTO>> response = userService.searchUsers(request, pageable);
+        if (after != null) {
+            return ResponseEntity.ok(userService.searchUsersAfter(request, after, pageSize));
+        }
+
+        Pageable pageable = PageRequest.of(page, pageSize);
+        IamResponse<PaginationResponse<UserSearchDTO>> response = userService.searchUsers(request, pageable, countMode);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(
+            value = "${endpoint.import}",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, ApiConstants.TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    @Operation(
+            summary = "Import Users [only for Admins]",
+            description = "Creates users from an NDJSON or CSV (username,password,email) body and streams back one result per line"
+    )
+    public ResponseEntity<StreamingResponseBody> importUsers(HttpServletRequest request) throws IOException {
+        log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        InputStream input = request.getInputStream();
+        StreamingResponseBody body = output -> userImportService.importUsers(input, contentType, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "${endpoint.export}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export Users [only for Admins]",
+            description = "Streams all users ordered by ID as NDJSON, optionally resuming after a given user ID"
+    )
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(name = "after", required = false) Integer afterId) {
+        log.trace(ApiLogMessage.NAME_OF_CURRENT_METHOD.getValue(), ApiUtils.getMethodName());
+
+        StreamingResponseBody body = output -> userExportService.exportUsers(afterId, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @DeleteMapping("${endpoint.id}")
     @Operation(summary = "Delete User", description = "Marks a user as deleted without removing them from the database")
     public ResponseEntity<Void> softDeleteUser(
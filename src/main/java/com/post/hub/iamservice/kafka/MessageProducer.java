@@ -2,6 +2,7 @@ package com.post.hub.iamservice.kafka;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.post.hub.iamservice.kafka.model.CachePurgeMessage;
 import com.post.hub.iamservice.kafka.model.utils.PostHubService;
 import com.post.hub.iamservice.kafka.model.utils.UtilMessage;
 import com.post.hub.iamservice.model.constants.ApiErrorMessage;
@@ -27,6 +28,9 @@ public class MessageProducer {
     @Value(value = "${additional.kafka.topic.iam.service.logs}")
     private String logsOutTopic;
 
+    @Value(value = "${additional.kafka.topic.iam.service.cache.purge}")
+    private String cachePurgeOutTopic;
+
     @Value(value = "${kafka.enabled}")
     private boolean isKafkaEnabled;
 
@@ -51,4 +55,27 @@ public class MessageProducer {
             log.error("Failed to serialize message to JSON. Message: {}", message, e);
         }
     }
+
+    public void sendCachePurge(@NotNull @Valid CachePurgeMessage message) {
+        if (!isKafkaEnabled) {
+            log.trace(ApiLogMessage.KAFKA_PURGE_DISABLED.getValue(), message);
+            return;
+        }
+        try {
+            message.setService(PostHubService.IAM_SERVICE);
+            String messageJson = objectMapper.writeValueAsString(message);
+            log.debug(ApiLogMessage.KAFKA_SENDING.getValue(), messageJson);
+
+            // Keyed by the first surrogate key so purges of one post stay in order
+            kafkaTemplate.send(cachePurgeOutTopic, message.getSurrogateKeys().get(0), messageJson).whenComplete((result, ex) -> {
+                if (ex == null) {
+                    log.debug(ApiLogMessage.KAFKA_SENT.getValue(), message.getActionType(), cachePurgeOutTopic, messageJson);
+                } else {
+                    log.error(ApiErrorMessage.KAFKA_SEND_FAILED.getMessage(), ex);
+                }
+            });
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize message to JSON. Message: {}", message, e);
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package com.post.hub.iamservice.kafka.model;
+
+import com.post.hub.iamservice.kafka.model.utils.ActionType;
+import com.post.hub.iamservice.kafka.model.utils.PostHubService;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+public class CachePurgeMessage implements Serializable {
+    private Integer postId;
+    private Integer userId;
+    private ActionType actionType;
+    private PostHubService service;
+    @NotEmpty
+    private List<String> surrogateKeys;
+}
@@ -1,13 +1,17 @@
 package com.post.hub.iamservice.kafka.service;
 
 import com.post.hub.iamservice.kafka.MessageProducer;
+import com.post.hub.iamservice.kafka.model.CachePurgeMessage;
 import com.post.hub.iamservice.kafka.model.utils.ActionType;
 import com.post.hub.iamservice.kafka.model.utils.PriorityType;
 import com.post.hub.iamservice.kafka.model.utils.UtilMessage;
 import com.post.hub.iamservice.model.constants.ApiKafkaMessage;
+import com.post.hub.iamservice.utils.HttpCacheUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class KafkaMessageService {
@@ -102,4 +106,14 @@ public class KafkaMessageService {
                 .build();
         messageProducer.sendLogs(message);
     }
+
+    public void sendPostPurgeMessage(Integer userId, Integer postId, ActionType actionType) {
+        CachePurgeMessage message = CachePurgeMessage.builder()
+                .postId(postId)
+                .userId(userId)
+                .actionType(actionType)
+                .surrogateKeys(List.of(HttpCacheUtils.postKey(postId)))
+                .build();
+        messageProducer.sendCachePurge(message);
+    }
 }
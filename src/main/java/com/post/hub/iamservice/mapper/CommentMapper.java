@@ -7,6 +7,7 @@ import com.post.hub.iamservice.model.entities.Post;
 import com.post.hub.iamservice.model.entities.User;
 import com.post.hub.iamservice.model.request.comment.CommentRequest;
 import com.post.hub.iamservice.model.request.comment.UpdateCommentRequest;
+import com.post.hub.iamservice.repository.projection.CommentSearchRow;
 import org.hibernate.type.descriptor.DateTimeUtils;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -51,4 +52,10 @@ public interface CommentMapper {
     @Mapping(source = "deleted", target = "isDeleted")
     CommentSearchDTO toCommentSearchDTO(Comment comment);
 
+    @Mapping(source = "ownerId", target = "owner.id")
+    @Mapping(source = "ownerUsername", target = "owner.username")
+    @Mapping(source = "ownerEmail", target = "owner.email")
+    @Mapping(source = "deleted", target = "isDeleted")
+    CommentSearchDTO toCommentSearchDTO(CommentSearchRow row);
+
 }
@@ -6,6 +6,8 @@ import com.post.hub.iamservice.model.entities.Post;
 import com.post.hub.iamservice.model.entities.User;
 import com.post.hub.iamservice.model.request.post.NewPostRequest;
 import com.post.hub.iamservice.model.request.post.UpdatePostRequest;
+import com.post.hub.iamservice.repository.projection.PostSearchRow;
+import com.post.hub.iamservice.repository.projection.RankedPostRow;
 import org.hibernate.type.descriptor.DateTimeUtils;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -25,6 +27,7 @@ public interface PostMapper {
     @Mapping(source = "likes", target = "likes")
     @Mapping(source = "created", target = "created", dateFormat = "yyyy-MM-dd'T'HH:mm:ss")
     @Mapping(source = "deleted", target = "deleted")
+    @Mapping(source = "user.id", target = "userId")
     PostDTO toDTO(Post post);
 
     // если названия полей (source и target) совпадают, можно не добавлять аннотации.
@@ -33,6 +36,7 @@ public interface PostMapper {
     @Mapping(target = "created", ignore = true)
     @Mapping(target = "updated", ignore = true)
     @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "commentCount", ignore = true)
     @Mapping(source = "user", target = "user")
     @Mapping(source = "createdBy", target = "createdBy")
     Post createPost(NewPostRequest newPostRequest, User user, String createdBy);
@@ -43,10 +47,27 @@ public interface PostMapper {
     @Mapping(target = "updated", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "user", ignore = true)
+    // likes only move through the flushed like counters, an absolute value here would overwrite them
+    @Mapping(target = "likes", ignore = true)
+    // maintained by the comment writes and the repair job
+    @Mapping(target = "commentCount", ignore = true)
     void updatePost(@MappingTarget Post post, UpdatePostRequest request);
 
     @Mapping(source = "deleted", target = "isDeleted")
     @Mapping(target = "createdBy", source = "user.username")
+    @Mapping(target = "rank", ignore = true)
+    @Mapping(target = "titleHighlight", ignore = true)
+    @Mapping(target = "contentHighlight", ignore = true)
     PostSearchDTO toPostSearchDTO(Post post);
 
+    @Mapping(source = "deleted", target = "isDeleted")
+    @Mapping(target = "rank", ignore = true)
+    @Mapping(target = "titleHighlight", ignore = true)
+    @Mapping(target = "contentHighlight", ignore = true)
+    PostSearchDTO toPostSearchDTO(PostSearchRow row);
+
+    @Mapping(target = ".", source = "post")
+    @Mapping(source = "post.deleted", target = "isDeleted")
+    PostSearchDTO toPostSearchDTO(RankedPostRow row);
+
 }
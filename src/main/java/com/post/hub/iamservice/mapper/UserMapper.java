@@ -10,6 +10,7 @@ import com.post.hub.iamservice.model.enums.RegistrationStatus;
 import com.post.hub.iamservice.model.request.user.NewUserRequest;
 import com.post.hub.iamservice.model.request.user.RegistrationUserRequest;
 import com.post.hub.iamservice.model.request.user.UpdateUserRequest;
+import com.post.hub.iamservice.repository.projection.UserSearchRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -53,6 +54,10 @@ public interface UserMapper {
     @Mapping(target = "roles", expression = "java(mapRoles(user.getRoles()))")
     UserSearchDTO toUserSearchDto(User user);
 
+    @Mapping(source = "deleted", target = "isDeleted")
+    @Mapping(target = "roles", ignore = true)
+    UserSearchDTO toUserSearchDto(UserSearchRow row);
+
     @Mapping(target = "roles", expression = "java(mapRoles(user.getRoles()))")
     @Mapping(target = "username", source = "user.username")
     @Mapping(target = "email", source = "user.email")
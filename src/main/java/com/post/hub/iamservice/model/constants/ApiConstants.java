@@ -18,5 +18,12 @@ public class ApiConstants {
     public static final Integer REQUIRED_MIN_LETTERS_NUMBER_EVERY_CASE_IN_PASSWORD = 1;
     public static final Integer REQUIRED_MIN_DIGITS_NUMBER_IN_PASSWORD = 1;
     public static final Integer REQUIRED_MIN_CHARACTERS_NUMBER_IN_PASSWORD = 1;
+    public static final int USERNAME_MAX_LENGTH = 30;
+    public static final int EMAIL_MAX_LENGTH = 50;
+    public static final int POST_TITLE_MAX_LENGTH = 255;
+    // Trigram indexes cannot narrow patterns shorter than one trigram
+    public static final int SEARCH_MIN_LENGTH = 3;
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final String SURROGATE_KEY_HEADER = "Surrogate-Key";
 
 }
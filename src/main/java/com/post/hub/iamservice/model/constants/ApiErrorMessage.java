@@ -36,8 +36,24 @@ public enum ApiErrorMessage {
             + ApiConstants.REQUIRED_MIN_DIGITS_NUMBER_IN_PASSWORD + " digit(s). "),
     HAVE_NO_ACCESS("You don't have the necessary permissions"),
     KAFKA_SEND_FAILED("Kafka message didn't send."),
+    LAST_LOGIN_FLUSH_FAILED("Failed to flush last login timestamps for %s users. They will be retried."),
+    POST_LIKES_FLUSH_FAILED("Failed to flush like counters for %s posts. They will be retried."),
 
     UNSUPPORTED_OAUTH2_PROVIDER("Unsupported OAuth2 provider: %s"),
+
+    USER_ALREADY_EXISTS("Username: %s or email: %s already exists"),
+    IMPORT_LINE_NOT_PARSED("Line could not be parsed: %s"),
+    IMPORT_DUPLICATE_IN_FILE("Username: %s or email: %s is repeated in this import"),
+    IMPORT_USER_NOT_INSERTED("User could not be inserted: %s"),
+    IMPORT_UNSUPPORTED_CONTENT_TYPE("Unsupported import content type: %s"),
+    CSV_INVALID_HEADER("CSV header must contain the columns: %s"),
+    CSV_UNTERMINATED_QUOTE("CSV line has an unterminated quoted field"),
+
+    TOO_MANY_REQUESTS("Too many requests, try again later"),
+
+    INVALID_CURSOR("Invalid pagination cursor"),
+    TOO_MANY_IDS("At most %s ids can be requested at once"),
+    CURSOR_SORT_MISMATCH("Cursor was issued for sort field: %s but the request sorts by: %s"),
     ;
 
     private final String message;
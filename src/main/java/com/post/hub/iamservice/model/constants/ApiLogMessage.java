@@ -9,10 +9,19 @@ import lombok.Getter;
 public enum ApiLogMessage {
     POST_INFO_BY_ID("Receiving post with ID: {}"),
     NAME_OF_CURRENT_METHOD("Current method: {}"),
+    RESOURCE_NOT_FOUND("Not found: {}"),
     KAFKA_DISABLED("Kafka is not enabled. Message will not be placed in iam_logs topic [message={}] "),
+    KAFKA_PURGE_DISABLED("Kafka is not enabled. Cache purge will not be published [message={}] "),
     KAFKA_SENDING("Sending message to Kafka: {}"),
     KAFKA_SENT("Kafka {} message sent. Topic: '{}', message='{}'"),
     PASSWORD_CHANGED_SUCCESSFULLY("Password changed successfully"),
+    USER_IDENTITY_INDEX_REBUILT("User identity index rebuilt with {} usernames"),
+    SEARCH_INDEX_REBUILT("Search indexes rebuilt with {} titles, {} trending posts, {} posts and {} comments"),
+    USER_IMPORT_BATCH_FALLBACK("Batch insert of {} imported users failed, retrying row by row: {}"),
+    USER_EXPORT_FINISHED("Exported {} users, last exported id: {}"),
+    LAST_LOGIN_FLUSHED("Flushed last login timestamps: {} of {} users updated"),
+    POST_LIKES_FLUSHED("Flushed like counters: {} of {} posts updated"),
+    POST_COMMENT_COUNTS_REPAIRED("Comment counts repaired: {} posts corrected"),
     ;
 
     private final String value;
@@ -0,0 +1,13 @@
+package com.post.hub.iamservice.model.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CacheNames {
+
+    public static final String POSTS = "posts";
+    public static final String USERS = "users";
+    public static final String COMMENTS = "comments";
+
+}
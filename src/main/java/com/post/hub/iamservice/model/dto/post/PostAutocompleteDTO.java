@@ -0,0 +1,18 @@
+package com.post.hub.iamservice.model.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostAutocompleteDTO implements Serializable {
+
+    private String prefix;
+    private List<PostTitleSuggestionDTO> suggestions;
+
+}
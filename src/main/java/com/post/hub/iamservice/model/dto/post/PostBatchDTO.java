@@ -0,0 +1,18 @@
+package com.post.hub.iamservice.model.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostBatchDTO implements Serializable {
+
+    // Keyed by requested id, in request order; ids without a live post map to null
+    private Map<Integer, PostDTO> posts;
+
+}
@@ -19,7 +19,9 @@ public class PostDTO implements Serializable {
     private String content;
     private Integer likes;
     private Boolean deleted;
+    private Integer userId;
     private String createdBy;
     private LocalDateTime created;
+    private LocalDateTime updated;
 
 }
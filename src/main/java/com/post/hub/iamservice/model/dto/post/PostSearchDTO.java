@@ -1,5 +1,6 @@
 package com.post.hub.iamservice.model.dto.post;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,8 +17,17 @@ public class PostSearchDTO implements Serializable {
     private String title;
     private String content;
     private Integer likes;
+    private Integer commentCount;
     private Boolean isDeleted;
     private String createdBy;
     private LocalDateTime created;
+    private LocalDateTime updated;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Float rank;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String titleHighlight;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String contentHighlight;
 
 }
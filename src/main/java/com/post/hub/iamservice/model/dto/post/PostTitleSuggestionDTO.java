@@ -0,0 +1,18 @@
+package com.post.hub.iamservice.model.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostTitleSuggestionDTO implements Serializable {
+
+    private Integer id;
+    private String title;
+    private Integer likes;
+
+}
@@ -0,0 +1,17 @@
+package com.post.hub.iamservice.model.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostTrendingDTO implements Serializable {
+
+    private List<PostSearchDTO> posts;
+
+}
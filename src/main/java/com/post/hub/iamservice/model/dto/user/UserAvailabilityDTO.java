@@ -0,0 +1,27 @@
+package com.post.hub.iamservice.model.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserAvailabilityDTO implements Serializable {
+
+    private String username;
+    private Boolean usernameAvailable;
+
+    private String email;
+    private Boolean emailAvailable;
+
+    private List<String> suggestions;
+
+}
@@ -21,6 +21,7 @@ public class UserDTO implements Serializable {
     private RegistrationStatus registrationStatus;
     private LocalDateTime lastLogin;
     private LocalDateTime created;
+    private LocalDateTime updated;
 
     private List<RoleDTO> roles;
 
@@ -0,0 +1,23 @@
+package com.post.hub.iamservice.model.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.post.hub.iamservice.model.enums.UserImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResultDTO implements Serializable {
+
+    private Integer line;
+    private String username;
+    private UserImportStatus status;
+    private Integer userId;
+    private String message;
+
+}
@@ -16,6 +16,7 @@ public class UserSearchDTO implements Serializable {
     private String email;
     private RegistrationStatus registrationStatus;
     private LocalDateTime created;
+    private LocalDateTime updated;
     private Boolean isDeleted;
 
     private List<RoleDTO> roles;
@@ -4,11 +4,18 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "comments")
+@NamedEntityGraph(name = Comment.LIST_GRAPH, attributeNodes = @NamedAttributeNode(Comment.USER_FIELD))
+@NamedEntityGraph(name = Comment.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode(Comment.USER_FIELD),
+        @NamedAttributeNode(Comment.POST_FIELD)
+})
+@BatchSize(size = 50)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,6 +24,13 @@ public class Comment {
     public static final String MESSAGE_NAME_FIELD = "message";
     public static final String CREATED_BY_FIELD = "createdBy";
     public static final String DELETED_FIELD = "deleted";
+    public static final String USER_FIELD = "user";
+    public static final String POST_FIELD = "post";
+    public static final String CREATED_FIELD = "created";
+    public static final String UPDATED_FIELD = "updated";
+
+    public static final String LIST_GRAPH = "Comment.list";
+    public static final String DETAIL_GRAPH = "Comment.detail";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -42,6 +56,6 @@ public class Comment {
     @Column(nullable = false)
     private Boolean deleted = false;
 
-    @Column(name = "created_by", length = 100)
+    @Column(name = "created_by", length = 100, nullable = false)
     private String createdBy;
 }
@@ -3,11 +3,17 @@ package com.post.hub.iamservice.model.entities;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "posts")
+@NamedEntityGraph(name = Post.LIST_GRAPH, attributeNodes = @NamedAttributeNode(Post.USER_FIELD))
+@NamedEntityGraph(name = Post.DETAIL_GRAPH, attributeNodes = @NamedAttributeNode(Post.USER_FIELD))
+@BatchSize(size = 50)
+@DynamicUpdate
 @Getter
 @Setter
 public class Post {
@@ -16,13 +22,20 @@ public class Post {
     public static final String TITLE_NAME_FIELD = "title";
     public static final String CONTENT_NAME_FIELD = "content";
     public static final String LIKES_NAME_FIELD = "likes";
+    public static final String COMMENT_COUNT_FIELD = "commentCount";
     public static final String DELETED_FIELD = "deleted";
+    public static final String USER_FIELD = "user";
+    public static final String CREATED_FIELD = "created";
+    public static final String UPDATED_FIELD = "updated";
+
+    public static final String LIST_GRAPH = "Post.list";
+    public static final String DETAIL_GRAPH = "Post.detail";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -35,6 +48,10 @@ public class Post {
     @Column(nullable = false, columnDefinition = "integer default 0")
     private Integer likes = 0;
 
+    // Written only by relative updates in PostRepositoryCustom, never by flushing this entity
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private Integer commentCount = 0;
+
     @Column(nullable = false)
     private Boolean deleted = false;
 
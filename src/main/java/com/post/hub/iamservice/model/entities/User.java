@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -13,6 +14,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@BatchSize(size = 50)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,6 +23,10 @@ public class User {
     public static final String USERNAME_NAME_FIELD = "username";
     public static final String EMAIL_NAME_FIELD = "email";
     public static final String DELETED_FIELD = "deleted";
+    public static final String REGISTRATION_STATUS_FIELD = "registrationStatus";
+    public static final String CREATED_FIELD = "created";
+    public static final String UPDATED_FIELD = "updated";
+    public static final String ROLES_FIELD = "roles";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -57,6 +63,8 @@ public class User {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Post> posts;
 
+    // Not fetch-joined into paged queries, roles of a whole page are loaded by one batched select
+    @BatchSize(size = 50)
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
             name = "user_roles",
@@ -1,6 +1,6 @@
 package com.post.hub.iamservice.model.enums;
 
 public enum CommentSortField {
-    MESSAGE,
-    CREATED_BY
+    CREATED_BY,
+    CREATED
 }
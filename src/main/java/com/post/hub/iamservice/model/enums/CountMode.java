@@ -0,0 +1,7 @@
+package com.post.hub.iamservice.model.enums;
+
+public enum CountMode {
+    EXACT,
+    APPROXIMATE,
+    NONE
+}
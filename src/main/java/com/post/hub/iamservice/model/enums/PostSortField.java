@@ -2,6 +2,6 @@ package com.post.hub.iamservice.model.enums;
 
 public enum PostSortField {
     TITLE,
-    CONTENT,
-    LIKES
+    LIKES,
+    CREATED
 }
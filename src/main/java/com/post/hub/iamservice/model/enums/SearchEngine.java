@@ -0,0 +1,6 @@
+package com.post.hub.iamservice.model.enums;
+
+public enum SearchEngine {
+    SQL,
+    INDEX
+}
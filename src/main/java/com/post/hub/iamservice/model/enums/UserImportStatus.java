@@ -0,0 +1,8 @@
+package com.post.hub.iamservice.model.enums;
+
+public enum UserImportStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
@@ -2,5 +2,6 @@ package com.post.hub.iamservice.model.enums;
 
 public enum UserSortField {
     USERNAME,
-    EMAIL
+    EMAIL,
+    CREATED
 }
@@ -6,8 +6,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class NotFoundException extends RuntimeException {
 
+    // thrown for every unknown id a client asks for, so the stack trace is never captured
     public NotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
 }
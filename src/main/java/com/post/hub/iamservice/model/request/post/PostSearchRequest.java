@@ -16,4 +16,7 @@ public class PostSearchRequest implements Serializable {
     private String keyword;
     private PostSortField sortField;
 
+    // full-text match on keyword ordered by rank, short keywords still go through LIKE
+    private Boolean ranked;
+
 }
@@ -1,7 +1,6 @@
 package com.post.hub.iamservice.model.request.post;
 
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,7 +16,5 @@ public class UpdatePostRequest implements Serializable {
     private String title;
     @NotBlank(message = "Content cannot be empty")
     private String content;
-    @NotNull(message = "Specify the number of likes")
-    private Integer likes;
 
 }
@@ -1,6 +1,8 @@
 package com.post.hub.iamservice.model.request.user;
 
+import com.post.hub.iamservice.model.constants.ApiConstants;
 import com.post.hub.iamservice.model.enums.UserSortField;
+import com.post.hub.iamservice.utils.TrimmedSize;
 import lombok.Data;
 
 import java.io.Serializable;
@@ -8,11 +10,17 @@ import java.io.Serializable;
 @Data
 public class UserSearchRequest implements Serializable {
 
+    @TrimmedSize(min = ApiConstants.SEARCH_MIN_LENGTH, message = "Search value must be at least {min} characters long")
     private String username;
+
+    @TrimmedSize(min = ApiConstants.SEARCH_MIN_LENGTH, message = "Search value must be at least {min} characters long")
     private String email;
 
     private Boolean deleted;
+
+    @TrimmedSize(min = ApiConstants.SEARCH_MIN_LENGTH, message = "Search value must be at least {min} characters long")
     private String keyword;
+
     private UserSortField sortField;
 
 }
@@ -1,9 +1,11 @@
 package com.post.hub.iamservice.model.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
 
 import java.io.Serializable;
 import java.util.List;
@@ -17,15 +19,51 @@ public class PaginationResponse<T> implements Serializable {
     private List<T> content;
     private Pagination pagination;
 
+    public static <T> PaginationResponse<T> keyset(List<T> content, int limit, String nextCursor) {
+        return new PaginationResponse<>(
+                content,
+                Pagination.builder()
+                        .limit(limit)
+                        .hasNext(nextCursor != null)
+                        .nextCursor(nextCursor)
+                        .build()
+        );
+    }
+
+    public static <T> PaginationResponse<T> slice(Slice<T> slice, Long estimatedTotal) {
+        Pagination.PaginationBuilder pagination = Pagination.builder()
+                .limit(slice.getSize())
+                .page(slice.getNumber() + 1)
+                .hasNext(slice.hasNext());
+        if (estimatedTotal != null) {
+            pagination.total(estimatedTotal)
+                    .pages(slice.getSize() == 0 ? 1 : (int) Math.ceil((double) estimatedTotal / slice.getSize()))
+                    .estimated(true);
+        }
+        return new PaginationResponse<>(slice.getContent(), pagination.build());
+    }
+
+    /**
+     * Exact offset pages fill total, page and pages. Slices add hasNext and mark an estimated total as estimated.
+     * Keyset pages leave total, page and pages out and fill hasNext and nextCursor.
+     */
     @Data
     @Builder
     @NoArgsConstructor
     @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class Pagination implements Serializable {
-        private long total;
-        private int limit;
-        private int page;
-        private int pages;
+        private Long total;
+        private Integer limit;
+        private Integer page;
+        private Integer pages;
+        private Boolean hasNext;
+        private String nextCursor;
+        private Boolean estimated;
+
+        public Pagination(long total, int limit, int page, int pages) {
+            this(total, limit, page, pages, null, null, null);
+        }
     }
 
 }
@@ -1,15 +1,41 @@
 package com.post.hub.iamservice.repository;
 
 import com.post.hub.iamservice.model.entities.Comment;
+import com.post.hub.iamservice.repository.projection.CommentIndexEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, Integer>, JpaSpecificationExecutor<Comment> {
+public interface CommentRepository extends JpaRepository<Comment, Integer>, JpaSpecificationExecutor<Comment>, CommentRepositoryCustom {
 
+    @EntityGraph(Comment.DETAIL_GRAPH)
     Optional<Comment> findByIdAndDeletedFalse(Integer commentId);
 
+    @NonNull
+    @Override
+    @EntityGraph(Comment.LIST_GRAPH)
+    Page<Comment> findAll(@NonNull Pageable pageable);
+
+    @EntityGraph(Comment.LIST_GRAPH)
+    Slice<Comment> findAllBy(Pageable pageable);
+
+    @NonNull
+    @Override
+    @EntityGraph(Comment.LIST_GRAPH)
+    Page<Comment> findAll(Specification<Comment> specification, @NonNull Pageable pageable);
+
+    @Query("select new com.post.hub.iamservice.repository.projection.CommentIndexEntry(c.id, c.message, c.createdBy, c.deleted) from Comment c")
+    Stream<CommentIndexEntry> streamIndexEntries();
+
 }
@@ -0,0 +1,27 @@
+package com.post.hub.iamservice.repository;
+
+import com.post.hub.iamservice.model.entities.Comment;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+import com.post.hub.iamservice.repository.criteria.KeysetSpecification;
+import com.post.hub.iamservice.repository.projection.KeysetPage;
+import com.post.hub.iamservice.repository.projection.CommentSearchRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface CommentRepositoryCustom {
+
+    Page<CommentSearchRow> searchRows(Specification<Comment> specification, Pageable pageable);
+
+    Slice<CommentSearchRow> searchRowSlice(Specification<Comment> specification, Pageable pageable);
+
+    List<CommentSearchRow> findRowsByIds(List<Integer> ids);
+
+    long countRows(Specification<Comment> specification);
+
+    KeysetPage<CommentSearchRow> searchRowsAfter(KeysetSpecification<Comment> specification, KeysetCursor after, int limit);
+
+}
@@ -0,0 +1,102 @@
+package com.post.hub.iamservice.repository;
+
+import com.post.hub.iamservice.model.entities.Comment;
+import com.post.hub.iamservice.model.entities.Post;
+import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+import com.post.hub.iamservice.repository.criteria.KeysetSpecification;
+import com.post.hub.iamservice.repository.projection.CommentSearchRow;
+import com.post.hub.iamservice.repository.projection.KeysetPage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CommentSearchRow> searchRows(Specification<Comment> specification, Pageable pageable) {
+        return ProjectionQueries.findPage(entityManager, Comment.class, CommentSearchRow.class, specification, pageable,
+                CommentRepositoryCustomImpl::columns);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CommentSearchRow> searchRowSlice(Specification<Comment> specification, Pageable pageable) {
+        return ProjectionQueries.findSlice(entityManager, Comment.class, CommentSearchRow.class, specification, pageable,
+                CommentRepositoryCustomImpl::columns);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommentSearchRow> findRowsByIds(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, CommentSearchRow> rowsById = ProjectionQueries.findPage(entityManager, Comment.class, CommentSearchRow.class,
+                        (root, query, cb) -> root.get(Comment.ID_FIELD).in(ids), Pageable.unpaged(),
+                        CommentRepositoryCustomImpl::columns)
+                .stream()
+                .collect(Collectors.toMap(CommentSearchRow::id, Function.identity()));
+
+        return ids.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countRows(Specification<Comment> specification) {
+        return ProjectionQueries.count(entityManager, Comment.class, specification);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<CommentSearchRow> searchRowsAfter(KeysetSpecification<Comment> specification, KeysetCursor after, int limit) {
+        return ProjectionQueries.findAfter(entityManager, Comment.class, CommentSearchRow.class, specification, after, limit,
+                CommentRepositoryCustomImpl::columns, CommentRepositoryCustomImpl::sortValue, CommentSearchRow::id);
+    }
+
+    private static List<Selection<?>> columns(Root<Comment> root) {
+        Join<Comment, User> user = root.join(Comment.USER_FIELD);
+        return List.of(
+                root.get(Comment.ID_FIELD),
+                root.get(Comment.MESSAGE_NAME_FIELD),
+                user.get(User.ID_FIELD),
+                user.get(User.USERNAME_NAME_FIELD),
+                user.get(User.EMAIL_NAME_FIELD),
+                root.get(Comment.POST_FIELD).get(Post.ID_FIELD),
+                root.get(Comment.CREATED_FIELD),
+                root.get(Comment.UPDATED_FIELD),
+                root.get(Comment.DELETED_FIELD),
+                root.get(Comment.CREATED_BY_FIELD)
+        );
+    }
+
+    private static Object sortValue(CommentSearchRow row, String field) {
+        return switch (field) {
+            case Comment.CREATED_BY_FIELD -> row.createdBy();
+            case Comment.CREATED_FIELD -> row.created().toString();
+            default -> row.id();
+        };
+    }
+
+}
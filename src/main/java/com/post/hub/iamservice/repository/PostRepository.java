@@ -1,15 +1,63 @@
 package com.post.hub.iamservice.repository;
 
 import com.post.hub.iamservice.model.entities.Post;
+import com.post.hub.iamservice.repository.projection.PostIndexEntry;
+import com.post.hub.iamservice.repository.projection.PostTitleEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.lang.NonNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface PostRepository extends JpaRepository<Post, Integer>, JpaSpecificationExecutor<Post> {
+public interface PostRepository extends JpaRepository<Post, Integer>, JpaSpecificationExecutor<Post>, PostRepositoryCustom {
 
     boolean existsByTitle(String title);
 
+    // Write paths (update, delete, like, comment) need only the author id from the lazy proxy,
+    // so they load the bare row without joining the author
     Optional<Post> findByIdAndDeletedFalse(Integer id);
 
+    // Read path behind the posts cache: the entry is built in one query with its author
+    @EntityGraph(Post.DETAIL_GRAPH)
+    Optional<Post> findDetailByIdAndDeletedFalse(Integer id);
+
+    boolean existsByIdAndDeletedFalse(Integer id);
+
+    // No user graph: PostDTO reads only the author id, which the lazy proxy already holds
+    List<Post> findAllByIdInAndDeletedFalse(Collection<Integer> ids);
+
+    @NonNull
+    @Override
+    @EntityGraph(Post.LIST_GRAPH)
+    Page<Post> findAll(@NonNull Pageable pageable);
+
+    @EntityGraph(Post.LIST_GRAPH)
+    Slice<Post> findAllBy(Pageable pageable);
+
+    @NonNull
+    @Override
+    @EntityGraph(Post.LIST_GRAPH)
+    Page<Post> findAll(Specification<Post> specification, @NonNull Pageable pageable);
+
+    @Query("select max(p.id) from Post p")
+    Optional<Integer> findMaxId();
+
+    @Query("select p.likes from Post p where p.id = ?1 and p.deleted = false")
+    Optional<Integer> findLikesByIdAndDeletedFalse(Integer id);
+
+    @Query("select new com.post.hub.iamservice.repository.projection.PostIndexEntry(p.id, p.title, p.content, p.deleted) from Post p")
+    Stream<PostIndexEntry> streamIndexEntries();
+
+    @Query("select new com.post.hub.iamservice.repository.projection.PostTitleEntry(p.id, p.title, p.likes) from Post p where p.deleted = false")
+    Stream<PostTitleEntry> streamTitleEntries();
+
 }
@@ -0,0 +1,49 @@
+package com.post.hub.iamservice.repository;
+
+import com.post.hub.iamservice.model.entities.Post;
+import com.post.hub.iamservice.model.request.post.PostSearchRequest;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+import com.post.hub.iamservice.repository.criteria.KeysetSpecification;
+import com.post.hub.iamservice.repository.projection.KeysetPage;
+import com.post.hub.iamservice.repository.projection.PostSearchRow;
+import com.post.hub.iamservice.repository.projection.PostTitleEntry;
+import com.post.hub.iamservice.repository.projection.RankedPostRow;
+import com.post.hub.iamservice.repository.projection.TrendingPostEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface PostRepositoryCustom {
+
+    Page<PostSearchRow> searchRows(Specification<Post> specification, Pageable pageable);
+
+    Slice<PostSearchRow> searchRowSlice(Specification<Post> specification, Pageable pageable);
+
+    List<PostSearchRow> findRowsByIds(List<Integer> ids);
+
+    long countRows(Specification<Post> specification);
+
+    Page<RankedPostRow> searchRanked(PostSearchRequest request, Pageable pageable);
+
+    KeysetPage<PostSearchRow> searchRowsAfter(KeysetSpecification<Post> specification, KeysetCursor after, int limit);
+
+    Stream<TrendingPostEntry> streamTrendingEntries(LocalDateTime epoch, Duration halfLife);
+
+    boolean insertLike(Integer postId, Integer userId);
+
+    boolean deleteLike(Integer postId, Integer userId);
+
+    List<PostTitleEntry> addLikes(Map<Integer, Long> deltas);
+
+    void addCommentCount(Integer postId, int delta);
+
+    int recountComments(Integer fromId, Integer toId);
+
+}
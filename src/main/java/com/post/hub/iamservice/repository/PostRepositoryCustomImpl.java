@@ -0,0 +1,338 @@
+package com.post.hub.iamservice.repository;
+
+import com.post.hub.iamservice.model.entities.Post;
+import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.model.request.post.PostSearchRequest;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+import com.post.hub.iamservice.repository.criteria.KeysetSpecification;
+import com.post.hub.iamservice.repository.projection.KeysetPage;
+import com.post.hub.iamservice.repository.projection.PostSearchRow;
+import com.post.hub.iamservice.repository.projection.PostTitleEntry;
+import com.post.hub.iamservice.repository.projection.RankedPostRow;
+import com.post.hub.iamservice.repository.projection.TrendingPostEntry;
+import com.post.hub.iamservice.utils.SearchUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    // must match the configuration of posts.search_vector from V5
+    private static final String TEXT_SEARCH_CONFIG = "english";
+    // Delimiters are control characters, the fragments are HTML-escaped before <mark> is put back in
+    private static final String HIGHLIGHT_DELIMITERS =
+            "StartSel=" + SearchUtils.HIGHLIGHT_START + ", StopSel=" + SearchUtils.HIGHLIGHT_STOP;
+    private static final String TITLE_HIGHLIGHT_OPTIONS = "HighlightAll=true, " + HIGHLIGHT_DELIMITERS;
+    private static final String CONTENT_HIGHLIGHT_OPTIONS = "MaxFragments=2, MaxWords=20, MinWords=5, " + HIGHLIGHT_DELIMITERS;
+    // first half of the advisory lock key taken per recounted id range, the range start is the second half
+    private static final int COMMENT_RECOUNT_LOCK = 0x706f7374;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PostSearchRow> searchRows(Specification<Post> specification, Pageable pageable) {
+        return ProjectionQueries.findPage(entityManager, Post.class, PostSearchRow.class, specification, pageable,
+                PostRepositoryCustomImpl::columns);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<PostSearchRow> searchRowSlice(Specification<Post> specification, Pageable pageable) {
+        return ProjectionQueries.findSlice(entityManager, Post.class, PostSearchRow.class, specification, pageable,
+                PostRepositoryCustomImpl::columns);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostSearchRow> findRowsByIds(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, PostSearchRow> rowsById = ProjectionQueries.findPage(entityManager, Post.class, PostSearchRow.class,
+                        (root, query, cb) -> root.get(Post.ID_FIELD).in(ids), Pageable.unpaged(),
+                        PostRepositoryCustomImpl::columns)
+                .stream()
+                .collect(Collectors.toMap(PostSearchRow::id, Function.identity()));
+
+        return ids.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countRows(Specification<Post> specification) {
+        return ProjectionQueries.count(entityManager, Post.class, specification);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public Page<RankedPostRow> searchRanked(PostSearchRequest request, Pageable pageable) {
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(request.getKeyword());
+        String filters = rankedFilters(request, parameters);
+
+        // ts_headline re-parses the documents, so it only runs for the rows of the requested page
+        Query query = entityManager.createNativeQuery(
+                "WITH ranked AS (" +
+                        "SELECT p.id, p.title, p.content, p.likes, p.comment_count, p.deleted, u.username, p.created, p.updated, " +
+                        "ts_rank(p.search_vector, q.query) AS rank, q.query " +
+                        "FROM {h-schema}posts p " +
+                        "JOIN {h-schema}users u ON u.id = p.user_id " +
+                        "CROSS JOIN websearch_to_tsquery('" + TEXT_SEARCH_CONFIG + "', ?1) AS q(query) " +
+                        "WHERE p.search_vector @@ q.query" + filters + " " +
+                        "ORDER BY rank DESC, p.id DESC " +
+                        "LIMIT " + pageable.getPageSize() + " OFFSET " + pageable.getOffset() +
+                        ") " +
+                        "SELECT id, title, content, likes, comment_count, deleted, username, created, updated, rank, " +
+                        headline("title", TITLE_HIGHLIGHT_OPTIONS) + ", " +
+                        headline("content", CONTENT_HIGHLIGHT_OPTIONS) + " " +
+                        "FROM ranked ORDER BY rank DESC, id DESC"
+        );
+        bind(query, parameters);
+
+        List<RankedPostRow> rows = ((List<Object[]>) query.getResultList()).stream()
+                .map(row -> new RankedPostRow(
+                        new PostSearchRow(toInteger(row[0]), (String) row[1], (String) row[2], toInteger(row[3]),
+                                toInteger(row[4]), (Boolean) row[5], (String) row[6], toLocalDateTime(row[7]),
+                                toLocalDateTime(row[8])),
+                        ((Number) row[9]).floatValue(),
+                        SearchUtils.highlight((String) row[10]),
+                        SearchUtils.highlight((String) row[11])))
+                .toList();
+
+        Query countQuery = entityManager.createNativeQuery(
+                "SELECT count(*) FROM {h-schema}posts p " +
+                        "CROSS JOIN websearch_to_tsquery('" + TEXT_SEARCH_CONFIG + "', ?1) AS q(query) " +
+                        "WHERE p.search_vector @@ q.query" + filters
+        );
+        bind(countQuery, parameters);
+
+        return new PageImpl<>(rows, pageable, ((Number) countQuery.getSingleResult()).longValue());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<PostSearchRow> searchRowsAfter(KeysetSpecification<Post> specification, KeysetCursor after, int limit) {
+        return ProjectionQueries.findAfter(entityManager, Post.class, PostSearchRow.class, specification, after, limit,
+                PostRepositoryCustomImpl::columns, PostRepositoryCustomImpl::sortValue, PostSearchRow::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public Stream<TrendingPostEntry> streamTrendingEntries(LocalDateTime epoch, Duration halfLife) {
+        // weights are floored at 2^-1000, postgres reports an underflow instead of returning 0
+        Stream<Object[]> rows = entityManager.createNativeQuery(
+                        "SELECT p.id, p.created, p.likes, COALESCE(l.recorded, 0), COALESCE(l.weight, 0) " +
+                                "FROM {h-schema}posts p " +
+                                "LEFT JOIN (" +
+                                "SELECT post_id, count(*) AS recorded, " +
+                                "sum(power(2, GREATEST(CAST(extract(epoch FROM created - CAST(?1 AS TIMESTAMP)) AS DOUBLE PRECISION) / ?2, -1000))) AS weight " +
+                                "FROM {h-schema}post_likes GROUP BY post_id" +
+                                ") l ON l.post_id = p.id " +
+                                "WHERE p.deleted = false"
+                )
+                .setParameter(1, epoch)
+                .setParameter(2, (double) halfLife.toSeconds())
+                .getResultStream();
+
+        return rows.map(row -> new TrendingPostEntry(toInteger(row[0]), toLocalDateTime(row[1]), toInteger(row[2]),
+                ((Number) row[3]).longValue(), ((Number) row[4]).doubleValue()));
+    }
+
+    @Override
+    @Transactional
+    public boolean insertLike(Integer postId, Integer userId) {
+        return entityManager.createNativeQuery(
+                        "INSERT INTO {h-schema}post_likes (post_id, user_id) VALUES (?1, ?2) ON CONFLICT DO NOTHING"
+                )
+                .setParameter(1, postId)
+                .setParameter(2, userId)
+                .executeUpdate() > 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteLike(Integer postId, Integer userId) {
+        return entityManager.createNativeQuery(
+                        "DELETE FROM {h-schema}post_likes WHERE post_id = ?1 AND user_id = ?2"
+                )
+                .setParameter(1, postId)
+                .setParameter(2, userId)
+                .executeUpdate() > 0;
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<PostTitleEntry> addLikes(Map<Integer, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < deltas.size(); i++) {
+            values.add("(CAST(?" + (2 * i + 1) + " AS BIGINT), CAST(?" + (2 * i + 2) + " AS INTEGER))");
+        }
+
+        // Relative to the stored value, so flushes from several instances and concurrent updates add up.
+        // Rows are locked in id order like recountComments does, so the two never wait on each other in a cycle.
+        // updated is not touched, the like count is not part of the version conditional GETs compare.
+        // The new totals come back for the autocomplete ranking, a deleted post reports a null title
+        Query query = entityManager.createNativeQuery(
+                "UPDATE {h-schema}posts AS p SET likes = p.likes + v.delta " +
+                        "FROM (SELECT d.id, d.delta FROM (VALUES " + values + ") AS d(id, delta) " +
+                        "JOIN {h-schema}posts l ON l.id = d.id ORDER BY l.id FOR UPDATE OF l) AS v " +
+                        "WHERE p.id = v.id " +
+                        "RETURNING p.id, CASE WHEN p.deleted THEN NULL ELSE p.title END, p.likes"
+        );
+
+        int position = 1;
+        for (Map.Entry<Integer, Long> entry : deltas.entrySet()) {
+            query.setParameter(position++, entry.getKey());
+            query.setParameter(position++, entry.getValue());
+        }
+
+        return ((List<Object[]>) query.getResultList()).stream()
+                .map(row -> new PostTitleEntry(toInteger(row[0]), (String) row[1], toInteger(row[2])))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void addCommentCount(Integer postId, int delta) {
+        entityManager.createNativeQuery(
+                        "UPDATE {h-schema}posts SET comment_count = comment_count + ?2 WHERE id = ?1"
+                )
+                .setParameter(1, postId)
+                .setParameter(2, delta)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int recountComments(Integer fromId, Integer toId) {
+        // Every instance runs the repair job; a range another instance is recounting right now is skipped
+        Boolean acquired = (Boolean) entityManager.createNativeQuery(
+                        "SELECT pg_try_advisory_xact_lock(CAST(?1 AS INTEGER), CAST(?2 AS INTEGER))"
+                )
+                .setParameter(1, COMMENT_RECOUNT_LOCK)
+                .setParameter(2, fromId)
+                .getSingleResult();
+        if (!Boolean.TRUE.equals(acquired)) {
+            return 0;
+        }
+
+        // Locking the posts first makes the recount wait for comment writes in flight, which hold the post row
+        // from their counter update to commit; the recount statement then reads a snapshot that includes them.
+        // In id order, the same order addLikes locks in
+        entityManager.createNativeQuery(
+                        "SELECT id FROM {h-schema}posts WHERE id > ?1 AND id <= ?2 ORDER BY id FOR UPDATE"
+                )
+                .setParameter(1, fromId)
+                .setParameter(2, toId)
+                .getResultList();
+
+        return entityManager.createNativeQuery(
+                        "UPDATE {h-schema}posts AS p SET comment_count = x.live " +
+                                "FROM (SELECT p2.id, (SELECT count(*) FROM {h-schema}comments c " +
+                                "WHERE c.post_id = p2.id AND c.deleted = false) AS live " +
+                                "FROM {h-schema}posts p2 WHERE p2.id > ?1 AND p2.id <= ?2) AS x " +
+                                "WHERE p.id = x.id AND p.comment_count <> x.live"
+                )
+                .setParameter(1, fromId)
+                .setParameter(2, toId)
+                .executeUpdate();
+    }
+
+    private static List<Selection<?>> columns(Root<Post> root) {
+        Join<Post, User> user = root.join(Post.USER_FIELD);
+        return List.of(
+                root.get(Post.ID_FIELD),
+                root.get(Post.TITLE_NAME_FIELD),
+                root.get(Post.CONTENT_NAME_FIELD),
+                root.get(Post.LIKES_NAME_FIELD),
+                root.get(Post.COMMENT_COUNT_FIELD),
+                root.get(Post.DELETED_FIELD),
+                user.get(User.USERNAME_NAME_FIELD),
+                root.get(Post.CREATED_FIELD),
+                root.get(Post.UPDATED_FIELD)
+        );
+    }
+
+    private static String rankedFilters(PostSearchRequest request, List<Object> parameters) {
+        StringBuilder filters = new StringBuilder();
+        if (Objects.nonNull(request.getTitle())) {
+            parameters.add("%" + request.getTitle() + "%");
+            filters.append(" AND p.title LIKE ?").append(parameters.size());
+        }
+        if (Objects.nonNull(request.getContent())) {
+            parameters.add("%" + request.getContent() + "%");
+            filters.append(" AND p.content LIKE ?").append(parameters.size());
+        }
+        if (Objects.nonNull(request.getLikes())) {
+            parameters.add(request.getLikes());
+            filters.append(" AND p.likes = ?").append(parameters.size());
+        }
+        if (Objects.nonNull(request.getDeleted())) {
+            filters.append(request.getDeleted() ? " AND p.deleted = true" : " AND p.deleted = false");
+        }
+        return filters.toString();
+    }
+
+    // a delimiter typed into the post itself must not turn into a <mark> tag
+    private static String headline(String column, String options) {
+        return "ts_headline('" + TEXT_SEARCH_CONFIG + "', translate(" + column + ", chr(2) || chr(3), ''), query, '" + options + "')";
+    }
+
+    private static void bind(Query query, List<Object> parameters) {
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+    }
+
+    private static Integer toInteger(Object value) {
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    private static Object sortValue(PostSearchRow row, String field) {
+        return switch (field) {
+            case Post.TITLE_NAME_FIELD -> row.title();
+            case Post.LIKES_NAME_FIELD -> row.likes();
+            case Post.CREATED_FIELD -> row.created().toString();
+            default -> row.id();
+        };
+    }
+
+}
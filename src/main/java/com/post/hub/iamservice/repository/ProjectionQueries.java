@@ -0,0 +1,198 @@
+package com.post.hub.iamservice.repository;
+
+import com.post.hub.iamservice.model.constants.ApiErrorMessage;
+import com.post.hub.iamservice.model.exception.InvalidDataException;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+import com.post.hub.iamservice.repository.criteria.KeysetSort;
+import com.post.hub.iamservice.repository.criteria.KeysetSpecification;
+import com.post.hub.iamservice.repository.projection.KeysetPage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs a {@link Specification} as a constructor projection, so search pages never hydrate managed entities.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ProjectionQueries {
+    private static final String ID_FIELD = "id";
+
+    static <T, R> Page<R> findPage(EntityManager entityManager,
+                                   Class<T> entityType,
+                                   Class<R> rowType,
+                                   Specification<T> specification,
+                                   Pageable pageable,
+                                   Function<Root<T>, List<Selection<?>>> columns) {
+        TypedQuery<R> query = selectQuery(entityManager, entityType, rowType, specification, pageable, columns);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable,
+                () -> count(entityManager, entityType, specification));
+    }
+
+    /**
+     * Slice variant: reads {@code size + 1} rows to learn whether another page exists and never counts.
+     */
+    static <T, R> Slice<R> findSlice(EntityManager entityManager,
+                                     Class<T> entityType,
+                                     Class<R> rowType,
+                                     Specification<T> specification,
+                                     Pageable pageable,
+                                     Function<Root<T>, List<Selection<?>>> columns) {
+        TypedQuery<R> query = selectQuery(entityManager, entityType, rowType, specification, pageable, columns);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+
+        List<R> rows = query.getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    /**
+     * Keyset variant: no offset and no count, reads {@code limit + 1} rows ordered by the sort field and id
+     * to learn whether another page exists.
+     */
+    static <T, R> KeysetPage<R> findAfter(EntityManager entityManager,
+                                          Class<T> entityType,
+                                          Class<R> rowType,
+                                          KeysetSpecification<T> specification,
+                                          KeysetCursor after,
+                                          int limit,
+                                          Function<Root<T>, List<Selection<?>>> columns,
+                                          BiFunction<R, String, Object> sortValue,
+                                          Function<R, Integer> rowId) {
+        KeysetSort sort = specification.keysetSort();
+        if (after != null && !sort.field().equals(after.field())) {
+            throw new InvalidDataException(ApiErrorMessage.CURSOR_SORT_MISMATCH.getMessage(after.field(), sort.field()));
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(rowType);
+        Root<T> root = query.from(entityType);
+        query.select(cb.construct(rowType, columns.apply(root).toArray(new Selection<?>[0])));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (after != null) {
+            predicates.add(afterPredicate(cb, root, sort, after));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(keysetOrder(cb, root, sort));
+
+        List<R> rows = entityManager.createQuery(query)
+                .setMaxResults(limit + 1)
+                .getResultList();
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+
+        List<R> content = rows.subList(0, limit);
+        R last = content.get(limit - 1);
+        return new KeysetPage<>(content, new KeysetCursor(sort.field(), sortValue.apply(last, sort.field()), rowId.apply(last)));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Predicate afterPredicate(CriteriaBuilder cb, Root<T> root, KeysetSort sort, KeysetCursor after) {
+        Expression<Integer> id = root.get(ID_FIELD);
+        Predicate idAfter = sort.descending() ? cb.lessThan(id, after.id()) : cb.greaterThan(id, after.id());
+        if (ID_FIELD.equals(sort.field())) {
+            return idAfter;
+        }
+
+        // key <= v AND (key < v OR id < i) keeps the leading condition a plain range on the (key, id) index
+        Expression key = root.get(sort.field());
+        Comparable value = cursorValue(key.getJavaType(), after.value());
+        if (sort.descending()) {
+            return cb.and(cb.lessThanOrEqualTo(key, value), cb.or(cb.lessThan(key, value), idAfter));
+        }
+        return cb.and(cb.greaterThanOrEqualTo(key, value), cb.or(cb.greaterThan(key, value), idAfter));
+    }
+
+    // JSON cursors carry timestamps as ISO-8601 strings
+    @SuppressWarnings("rawtypes")
+    private static Comparable cursorValue(Class<?> keyType, Object value) {
+        if (LocalDateTime.class.equals(keyType) && value instanceof String text) {
+            try {
+                return LocalDateTime.parse(text);
+            } catch (DateTimeParseException ex) {
+                throw new InvalidDataException(ApiErrorMessage.INVALID_CURSOR.getMessage());
+            }
+        }
+        return (Comparable) value;
+    }
+
+    private static <T> List<Order> keysetOrder(CriteriaBuilder cb, Root<T> root, KeysetSort sort) {
+        Function<Expression<?>, Order> direction = expression -> sort.descending() ? cb.desc(expression) : cb.asc(expression);
+        if (ID_FIELD.equals(sort.field())) {
+            return List.of(direction.apply(root.get(ID_FIELD)));
+        }
+        return List.of(direction.apply(root.get(sort.field())), direction.apply(root.get(ID_FIELD)));
+    }
+
+    private static <T, R> TypedQuery<R> selectQuery(EntityManager entityManager,
+                                                    Class<T> entityType,
+                                                    Class<R> rowType,
+                                                    Specification<T> specification,
+                                                    Pageable pageable,
+                                                    Function<Root<T>, List<Selection<?>>> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(rowType);
+        Root<T> root = query.from(entityType);
+        query.select(cb.construct(rowType, columns.apply(root).toArray(new Selection<?>[0])));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        return entityManager.createQuery(query);
+    }
+
+    static <T> long count(EntityManager entityManager, Class<T> entityType, Specification<T> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityType);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Criteria classes add their default sort inside toPredicate, a count never needs it
+        query.select(cb.count(root)).orderBy(Collections.emptyList());
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+}
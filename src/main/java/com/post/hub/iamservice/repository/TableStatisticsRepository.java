@@ -0,0 +1,30 @@
+package com.post.hub.iamservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.OptionalLong;
+
+@Repository
+@RequiredArgsConstructor
+public class TableStatisticsRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema}")
+    private String schema;
+
+    /**
+     * Planner row estimate kept by autovacuum/ANALYZE. Empty until the table has been analyzed at least once.
+     */
+    public OptionalLong estimateRowCount(String table) {
+        Long estimate = jdbcTemplate.query(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)",
+                rs -> rs.next() ? rs.getLong(1) : null,
+                schema + "." + table
+        );
+        return estimate == null || estimate < 0 ? OptionalLong.empty() : OptionalLong.of(estimate);
+    }
+
+}
@@ -1,14 +1,23 @@
 package com.post.hub.iamservice.repository;
 
 import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.repository.projection.UserIdentity;
+import com.post.hub.iamservice.repository.projection.UserRoleRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User>, UserRepositoryCustom {
 
     boolean existsByUsername(String username);
 
@@ -16,10 +25,22 @@ public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecifi
 
     Optional<User> findByIdAndDeletedFalse(Integer id);
 
+    @EntityGraph(attributePaths = User.ROLES_FIELD)
+    List<User> findAllByIdInAndDeletedFalse(Collection<Integer> ids);
+
     Optional<User> findUserByEmailAndDeletedFalse(String email);
 
     Optional<User> findByEmail(String email);
 
     Optional<User> findByUsername(String username);
 
+    Slice<User> findAllBy(Pageable pageable);
+
+    @Query("select new com.post.hub.iamservice.repository.projection.UserIdentity(u.username, u.email) from User u")
+    Stream<UserIdentity> streamAllIdentities();
+
+    @Query("select new com.post.hub.iamservice.repository.projection.UserRoleRow(u.id, r.id, r.name) " +
+            "from User u join u.roles r where u.id in :userIds order by r.id")
+    List<UserRoleRow> findRolesByUserIds(Collection<Integer> userIds);
+
 }
@@ -0,0 +1,42 @@
+package com.post.hub.iamservice.repository;
+
+import com.post.hub.iamservice.model.dto.user.UserSearchDTO;
+import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+import com.post.hub.iamservice.repository.criteria.KeysetSpecification;
+import com.post.hub.iamservice.repository.projection.InsertedUser;
+import com.post.hub.iamservice.repository.projection.KeysetPage;
+import com.post.hub.iamservice.repository.projection.UserIdentityConflict;
+import com.post.hub.iamservice.repository.projection.UserSearchRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface UserRepositoryCustom {
+
+    int updateLastLogins(Map<Integer, LocalDateTime> lastLogins);
+
+    Optional<InsertedUser> insertUserIfAbsent(User user, String roleName);
+
+    UserIdentityConflict findIdentityConflict(String username, String email);
+
+    List<Integer> batchInsertUsers(List<User> users, String roleName);
+
+    Page<UserSearchRow> searchRows(Specification<User> specification, Pageable pageable);
+
+    Slice<UserSearchRow> searchRowSlice(Specification<User> specification, Pageable pageable);
+
+    long countRows(Specification<User> specification);
+
+    KeysetPage<UserSearchRow> searchRowsAfter(KeysetSpecification<User> specification, KeysetCursor after, int limit);
+
+    Integer exportUsersAfter(Integer afterId, int limit, Consumer<UserSearchDTO> consumer);
+
+}
@@ -0,0 +1,310 @@
+package com.post.hub.iamservice.repository;
+
+import com.post.hub.iamservice.model.constants.ApiErrorMessage;
+import com.post.hub.iamservice.model.dto.role.RoleDTO;
+import com.post.hub.iamservice.model.dto.user.UserSearchDTO;
+import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.model.enums.RegistrationStatus;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+import com.post.hub.iamservice.repository.criteria.KeysetSpecification;
+import com.post.hub.iamservice.repository.projection.InsertedUser;
+import com.post.hub.iamservice.repository.projection.KeysetPage;
+import com.post.hub.iamservice.repository.projection.UserIdentityConflict;
+import com.post.hub.iamservice.repository.projection.UserSearchRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema}")
+    private String schema;
+
+    @Value("${user.export.fetch.size:500}")
+    private int exportFetchSize;
+
+    @Override
+    @Transactional
+    public int updateLastLogins(Map<Integer, LocalDateTime> lastLogins) {
+        if (lastLogins.isEmpty()) {
+            return 0;
+        }
+
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < lastLogins.size(); i++) {
+            values.add("(CAST(?" + (2 * i + 1) + " AS INTEGER), CAST(?" + (2 * i + 2) + " AS TIMESTAMP))");
+        }
+
+        // Never move last_login backwards if another instance already flushed a newer login.
+        // updated is left alone: it versions the profile, and a login is not an edit of it
+        Query query = entityManager.createNativeQuery(
+                "UPDATE {h-schema}users AS u SET last_login = v.last_login " +
+                        "FROM (VALUES " + values + ") AS v(id, last_login) " +
+                        "WHERE u.id = v.id AND (u.last_login IS NULL OR u.last_login < v.last_login)"
+        );
+
+        int position = 1;
+        for (Map.Entry<Integer, LocalDateTime> entry : lastLogins.entrySet()) {
+            query.setParameter(position++, entry.getKey());
+            query.setParameter(position++, entry.getValue());
+        }
+
+        return query.executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Optional<InsertedUser> insertUserIfAbsent(User user, String roleName) {
+        // Uniqueness is enforced by the users constraints, the role link is written in the same statement
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "WITH inserted AS (" +
+                                "INSERT INTO {h-schema}users " +
+                                "(username, password, email, registration_status, last_login, deleted, created, updated) " +
+                                "VALUES (?1, ?2, ?3, ?4, ?5, false, ?5, ?5) " +
+                                "ON CONFLICT DO NOTHING " +
+                                "RETURNING id" +
+                                "), linked AS (" +
+                                "INSERT INTO {h-schema}user_roles (user_id, role_id) " +
+                                "SELECT inserted.id, r.id FROM inserted JOIN {h-schema}roles r ON r.name = ?6 " +
+                                "RETURNING role_id" +
+                                ") " +
+                                "SELECT inserted.id, (SELECT min(linked.role_id) FROM linked) FROM inserted"
+                )
+                .setParameter(1, user.getUsername())
+                .setParameter(2, user.getPassword())
+                .setParameter(3, user.getEmail())
+                .setParameter(4, user.getRegistrationStatus().name())
+                .setParameter(5, user.getCreated())
+                .setParameter(6, roleName)
+                .getResultList();
+
+        return rows.stream()
+                .findFirst()
+                .map(row -> new InsertedUser(toInteger(row[0]), toInteger(row[1])));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserIdentityConflict findIdentityConflict(String username, String email) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(
+                        "SELECT coalesce(bool_or(username = ?1), false), coalesce(bool_or(email = ?2), false) " +
+                                "FROM {h-schema}users WHERE username = ?1 OR email = ?2"
+                )
+                .setParameter(1, username)
+                .setParameter(2, email)
+                .getSingleResult();
+
+        return new UserIdentityConflict((Boolean) row[0], (Boolean) row[1]);
+    }
+
+    @Override
+    @Transactional
+    public List<Integer> batchInsertUsers(List<User> users, String roleName) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+
+        String[] usernames = new String[users.size()];
+        String[] passwords = new String[users.size()];
+        String[] emails = new String[users.size()];
+        String[] statuses = new String[users.size()];
+        Timestamp[] created = new Timestamp[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            usernames[i] = user.getUsername();
+            passwords[i] = user.getPassword();
+            emails[i] = user.getEmail();
+            statuses[i] = user.getRegistrationStatus().name();
+            created[i] = Timestamp.valueOf(user.getCreated());
+        }
+
+        // One statement: rows skipped by ON CONFLICT are simply absent from RETURNING,
+        // the role links are written from the returned ids
+        Map<String, Integer> idsByUsername = new HashMap<>();
+        int[] linkedRows = {0};
+        jdbcTemplate.query(
+                "WITH inserted AS (" +
+                        "INSERT INTO " + schema + ".users " +
+                        "(username, password, email, registration_status, last_login, deleted, created, updated) " +
+                        "SELECT t.username, t.password, t.email, t.registration_status, t.created, false, t.created, t.created " +
+                        "FROM unnest(?, ?, ?, ?, ?) AS t(username, password, email, registration_status, created) " +
+                        "ON CONFLICT DO NOTHING " +
+                        "RETURNING id, username" +
+                        "), linked AS (" +
+                        "INSERT INTO " + schema + ".user_roles (user_id, role_id) " +
+                        "SELECT inserted.id, r.id FROM inserted JOIN " + schema + ".roles r ON r.name = ? " +
+                        "RETURNING user_id" +
+                        ") " +
+                        "SELECT inserted.id, inserted.username, linked.user_id IS NOT NULL " +
+                        "FROM inserted LEFT JOIN linked ON linked.user_id = inserted.id",
+                ps -> {
+                    Connection connection = ps.getConnection();
+                    ps.setArray(1, connection.createArrayOf("varchar", usernames));
+                    ps.setArray(2, connection.createArrayOf("varchar", passwords));
+                    ps.setArray(3, connection.createArrayOf("varchar", emails));
+                    ps.setArray(4, connection.createArrayOf("varchar", statuses));
+                    ps.setArray(5, connection.createArrayOf("timestamp", created));
+                    ps.setString(6, roleName);
+                },
+                rs -> {
+                    idsByUsername.put(rs.getString(2), rs.getInt(1));
+                    if (rs.getBoolean(3)) {
+                        linkedRows[0]++;
+                    }
+                }
+        );
+
+        if (linkedRows[0] != idsByUsername.size()) {
+            // The role is seeded by migrations, a missing one is a broken deployment rather than a client error
+            throw new IllegalStateException(ApiErrorMessage.USER_ROLE_NOT_FOUND.getMessage());
+        }
+
+        List<Integer> ids = new ArrayList<>(users.size());
+        for (User user : users) {
+            ids.add(idsByUsername.remove(user.getUsername()));
+        }
+        return ids;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserSearchRow> searchRows(Specification<User> specification, Pageable pageable) {
+        return ProjectionQueries.findPage(entityManager, User.class, UserSearchRow.class, specification, pageable,
+                UserRepositoryCustomImpl::searchColumns);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<UserSearchRow> searchRowSlice(Specification<User> specification, Pageable pageable) {
+        return ProjectionQueries.findSlice(entityManager, User.class, UserSearchRow.class, specification, pageable,
+                UserRepositoryCustomImpl::searchColumns);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countRows(Specification<User> specification) {
+        return ProjectionQueries.count(entityManager, User.class, specification);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<UserSearchRow> searchRowsAfter(KeysetSpecification<User> specification, KeysetCursor after, int limit) {
+        return ProjectionQueries.findAfter(entityManager, User.class, UserSearchRow.class, specification, after, limit,
+                UserRepositoryCustomImpl::searchColumns, UserRepositoryCustomImpl::sortValue, UserSearchRow::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Integer exportUsersAfter(Integer afterId, int limit, Consumer<UserSearchDTO> consumer) {
+        // Keyset page over the primary key, roles are joined in instead of loaded per user
+        PreparedStatementCreator statement = connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "SELECT u.id, u.username, u.email, u.registration_status, u.created, u.deleted, u.updated, r.id, r.name " +
+                            "FROM (SELECT id, username, email, registration_status, created, deleted, updated " +
+                            "FROM " + schema + ".users WHERE id > ? ORDER BY id LIMIT ?) u " +
+                            "LEFT JOIN " + schema + ".user_roles ur ON ur.user_id = u.id " +
+                            "LEFT JOIN " + schema + ".roles r ON r.id = ur.role_id " +
+                            "ORDER BY u.id, r.id",
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY
+            );
+            ps.setFetchSize(exportFetchSize);
+            ps.setInt(1, afterId == null ? 0 : afterId);
+            ps.setInt(2, limit);
+            return ps;
+        };
+
+        UserSearchDTO[] current = new UserSearchDTO[1];
+        jdbcTemplate.query(statement, rs -> {
+            int id = rs.getInt(1);
+            if (current[0] == null || !current[0].getId().equals(id)) {
+                if (current[0] != null) {
+                    consumer.accept(current[0]);
+                }
+                current[0] = toUserSearchDto(rs);
+            }
+            int roleId = rs.getInt(8);
+            if (!rs.wasNull()) {
+                current[0].getRoles().add(new RoleDTO(roleId, rs.getString(9)));
+            }
+        });
+
+        if (current[0] == null) {
+            return null;
+        }
+        consumer.accept(current[0]);
+        return current[0].getId();
+    }
+
+    private static List<Selection<?>> searchColumns(Root<User> root) {
+        return List.of(
+                root.get(User.ID_FIELD),
+                root.get(User.USERNAME_NAME_FIELD),
+                root.get(User.EMAIL_NAME_FIELD),
+                root.get(User.REGISTRATION_STATUS_FIELD),
+                root.get(User.CREATED_FIELD),
+                root.get(User.DELETED_FIELD),
+                root.get(User.UPDATED_FIELD)
+        );
+    }
+
+    private static Object sortValue(UserSearchRow row, String field) {
+        return switch (field) {
+            case User.USERNAME_NAME_FIELD -> row.username();
+            case User.EMAIL_NAME_FIELD -> row.email();
+            case User.CREATED_FIELD -> row.created().toString();
+            default -> row.id();
+        };
+    }
+
+    private static UserSearchDTO toUserSearchDto(ResultSet rs) throws SQLException {
+        UserSearchDTO user = new UserSearchDTO();
+        user.setId(rs.getInt(1));
+        user.setUsername(rs.getString(2));
+        user.setEmail(rs.getString(3));
+        user.setRegistrationStatus(RegistrationStatus.valueOf(rs.getString(4)));
+        Timestamp created = rs.getTimestamp(5);
+        user.setCreated(created == null ? null : created.toLocalDateTime());
+        user.setIsDeleted(rs.getBoolean(6));
+        Timestamp updated = rs.getTimestamp(7);
+        user.setUpdated(updated == null ? null : updated.toLocalDateTime());
+        user.setRoles(new ArrayList<>());
+        return user;
+    }
+
+    private static Integer toInteger(Object value) {
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+}
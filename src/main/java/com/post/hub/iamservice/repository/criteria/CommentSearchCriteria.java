@@ -8,14 +8,13 @@ import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
-import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 @AllArgsConstructor
-public class CommentSearchCriteria implements Specification<Comment> {
+public class CommentSearchCriteria implements KeysetSpecification<Comment> {
     private final CommentSearchRequest request;
 
     @Override
@@ -36,7 +35,9 @@ public class CommentSearchCriteria implements Specification<Comment> {
         }
 
         if (Objects.nonNull(request.getDeleted())) {
-            predicates.add(criteriaBuilder.equal(root.get(Comment.DELETED_FIELD), request.getDeleted()));
+            predicates.add(request.getDeleted()
+                    ? criteriaBuilder.isTrue(root.get(Comment.DELETED_FIELD))
+                    : criteriaBuilder.isFalse(root.get(Comment.DELETED_FIELD)));
         }
 
         if (Objects.nonNull(request.getPostId())) {
@@ -56,15 +57,19 @@ public class CommentSearchCriteria implements Specification<Comment> {
         return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
     }
 
-    private void sort(Root<Comment> root, CriteriaBuilder criteriaBuilder, CriteriaQuery<?> query) {
-        if (Objects.nonNull(request.getSortField())) {
-            switch (request.getSortField()) {
-                case MESSAGE -> query.orderBy(criteriaBuilder.desc(root.get(Comment.MESSAGE_NAME_FIELD)));
-                case CREATED_BY -> query.orderBy(criteriaBuilder.desc(root.get(Comment.CREATED_BY_FIELD)));
-                default -> query.orderBy(criteriaBuilder.desc(root.get(Comment.ID_FIELD)));
-            }
-        } else {
-            query.orderBy(criteriaBuilder.desc(root.get(Comment.ID_FIELD)));
+    @Override
+    public KeysetSort keysetSort() {
+        if (Objects.isNull(request.getSortField())) {
+            return new KeysetSort(Comment.ID_FIELD, true);
         }
+        return switch (request.getSortField()) {
+            case CREATED_BY -> new KeysetSort(Comment.CREATED_BY_FIELD, true);
+            case CREATED -> new KeysetSort(Comment.CREATED_FIELD, true);
+        };
+    }
+
+    private void sort(Root<Comment> root, CriteriaBuilder criteriaBuilder, CriteriaQuery<?> query) {
+        KeysetSort sort = keysetSort();
+        query.orderBy(criteriaBuilder.desc(root.get(sort.field())));
     }
 }
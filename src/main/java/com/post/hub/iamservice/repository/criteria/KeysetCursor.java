@@ -0,0 +1,40 @@
+package com.post.hub.iamservice.repository.criteria;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.post.hub.iamservice.model.constants.ApiErrorMessage;
+import com.post.hub.iamservice.model.exception.InvalidDataException;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a keyset page: the sort field, its value and the id tiebreaker.
+ * Clients only ever see the opaque Base64 form.
+ */
+public record KeysetCursor(String field, Object value, Integer id) {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            KeysetCursor decoded = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), KeysetCursor.class);
+            if (decoded.field() == null || decoded.value() == null || decoded.id() == null) {
+                throw new InvalidDataException(ApiErrorMessage.INVALID_CURSOR.getMessage());
+            }
+            return decoded;
+        } catch (IllegalArgumentException | IOException ex) {
+            throw new InvalidDataException(ApiErrorMessage.INVALID_CURSOR.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.post.hub.iamservice.repository.criteria;
+
+public record KeysetSort(String field, boolean descending) {
+}
@@ -0,0 +1,9 @@
+package com.post.hub.iamservice.repository.criteria;
+
+import org.springframework.data.jpa.domain.Specification;
+
+public interface KeysetSpecification<T> extends Specification<T> {
+
+    KeysetSort keysetSort();
+
+}
@@ -0,0 +1,37 @@
+package com.post.hub.iamservice.repository.criteria;
+
+import com.post.hub.iamservice.model.entities.Comment;
+import com.post.hub.iamservice.model.entities.Post;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Live comments of one post, newest first. The post id equality, the literal {@code deleted = false} and the
+ * (created, id) keyset are exactly idx_comments_live_post_id_created_id from V7, so a page is one index range scan.
+ */
+@AllArgsConstructor
+public class PostCommentsCriteria implements KeysetSpecification<Comment> {
+    private final Integer postId;
+
+    @Override
+    public Predicate toPredicate(
+            @NonNull Root<Comment> root,
+            CriteriaQuery<?> query,
+            @NonNull CriteriaBuilder criteriaBuilder
+    ) {
+        return criteriaBuilder.and(
+                criteriaBuilder.equal(root.get(Comment.POST_FIELD).get(Post.ID_FIELD), postId),
+                criteriaBuilder.isFalse(root.get(Comment.DELETED_FIELD))
+        );
+    }
+
+    @Override
+    public KeysetSort keysetSort() {
+        return new KeysetSort(Comment.CREATED_FIELD, true);
+    }
+
+}
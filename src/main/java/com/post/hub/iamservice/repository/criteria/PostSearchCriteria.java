@@ -8,14 +8,13 @@ import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
-import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 @AllArgsConstructor
-public class PostSearchCriteria implements Specification<Post> {
+public class PostSearchCriteria implements KeysetSpecification<Post> {
 
     private final PostSearchRequest request;
 
@@ -40,7 +39,10 @@ public class PostSearchCriteria implements Specification<Post> {
         }
 
         if (Objects.nonNull(request.getDeleted())) {
-            predicates.add(criteriaBuilder.equal(root.get(Post.DELETED_FIELD), request.getDeleted()));
+            // a literal instead of a bind parameter keeps the V7 partial indexes usable under generic plans
+            predicates.add(request.getDeleted()
+                    ? criteriaBuilder.isTrue(root.get(Post.DELETED_FIELD))
+                    : criteriaBuilder.isFalse(root.get(Post.DELETED_FIELD)));
         }
 
         if (Objects.nonNull(request.getKeyword())) {
@@ -56,16 +58,20 @@ public class PostSearchCriteria implements Specification<Post> {
         return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
     }
 
-    private void sort(Root<Post> root, CriteriaBuilder criteriaBuilder, CriteriaQuery<?> query) {
-        if (Objects.nonNull(request.getSortField())) {
-            switch (request.getSortField()) {
-                case TITLE -> query.orderBy(criteriaBuilder.desc(root.get(Post.TITLE_NAME_FIELD)));
-                case CONTENT -> query.orderBy(criteriaBuilder.desc(root.get(Post.CONTENT_NAME_FIELD)));
-                case LIKES -> query.orderBy(criteriaBuilder.desc(root.get(Post.LIKES_NAME_FIELD)));
-                default -> query.orderBy(criteriaBuilder.desc(root.get(Post.ID_FIELD)));
-            }
-        } else {
-            query.orderBy(criteriaBuilder.desc(root.get(Post.ID_FIELD)));
+    @Override
+    public KeysetSort keysetSort() {
+        if (Objects.isNull(request.getSortField())) {
+            return new KeysetSort(Post.ID_FIELD, true);
         }
+        return switch (request.getSortField()) {
+            case TITLE -> new KeysetSort(Post.TITLE_NAME_FIELD, true);
+            case LIKES -> new KeysetSort(Post.LIKES_NAME_FIELD, true);
+            case CREATED -> new KeysetSort(Post.CREATED_FIELD, true);
+        };
+    }
+
+    private void sort(Root<Post> root, CriteriaBuilder criteriaBuilder, CriteriaQuery<?> query) {
+        KeysetSort sort = keysetSort();
+        query.orderBy(criteriaBuilder.desc(root.get(sort.field())));
     }
 }
@@ -2,12 +2,12 @@ package com.post.hub.iamservice.repository.criteria;
 
 import com.post.hub.iamservice.model.entities.User;
 import com.post.hub.iamservice.model.request.user.UserSearchRequest;
+import com.post.hub.iamservice.utils.SearchUtils;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.AllArgsConstructor;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 
 import java.util.ArrayList;
@@ -15,7 +15,7 @@ import java.util.List;
 import java.util.Objects;
 
 @AllArgsConstructor
-public class UserSearchCriteria implements Specification<User> {
+public class UserSearchCriteria implements KeysetSpecification<User> {
 
     private final UserSearchRequest request;
 
@@ -28,21 +28,23 @@ public class UserSearchCriteria implements Specification<User> {
         List<Predicate> predicates = new ArrayList<>();
 
         if (Objects.nonNull(request.getUsername())) {
-            predicates.add(criteriaBuilder.like(root.get(User.USERNAME_NAME_FIELD), "%" + request.getUsername() + "%"));
+            predicates.add(containsIgnoreCase(root, criteriaBuilder, User.USERNAME_NAME_FIELD, request.getUsername()));
         }
 
         if (Objects.nonNull(request.getEmail())) {
-            predicates.add(criteriaBuilder.like(root.get(User.EMAIL_NAME_FIELD), "%" + request.getEmail() + "%"));
+            predicates.add(containsIgnoreCase(root, criteriaBuilder, User.EMAIL_NAME_FIELD, request.getEmail()));
         }
 
         if (Objects.nonNull(request.getDeleted())) {
-            predicates.add(criteriaBuilder.equal(root.get(User.DELETED_FIELD), request.getDeleted()));
+            predicates.add(request.getDeleted()
+                    ? criteriaBuilder.isTrue(root.get(User.DELETED_FIELD))
+                    : criteriaBuilder.isFalse(root.get(User.DELETED_FIELD)));
         }
 
         if (Objects.nonNull(request.getKeyword())) {
             Predicate keywordPredicate = criteriaBuilder.or(
-                    criteriaBuilder.like(root.get(User.USERNAME_NAME_FIELD), "%" + request.getKeyword() + "%"),
-                    criteriaBuilder.like(root.get(User.EMAIL_NAME_FIELD), "%" + request.getKeyword() + "%")
+                    containsIgnoreCase(root, criteriaBuilder, User.USERNAME_NAME_FIELD, request.getKeyword()),
+                    containsIgnoreCase(root, criteriaBuilder, User.EMAIL_NAME_FIELD, request.getKeyword())
             );
             predicates.add(keywordPredicate);
         }
@@ -52,15 +54,25 @@ public class UserSearchCriteria implements Specification<User> {
         return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
     }
 
-    private void sort(Root<User> root, CriteriaBuilder cb, CriteriaQuery<?> query) {
-        if (Objects.nonNull(request.getSortField())) {
-            switch (request.getSortField()) {
-                case USERNAME -> query.orderBy(cb.asc(root.get(User.USERNAME_NAME_FIELD)));
-                case EMAIL -> query.orderBy(cb.asc(root.get(User.EMAIL_NAME_FIELD)));
-                default -> query.orderBy(cb.asc(root.get(User.ID_FIELD)));
-            }
-        } else {
-            query.orderBy(cb.asc(root.get(User.ID_FIELD)));
+    // lower(column) LIKE '%x%' matches the lower(...) gin_trgm_ops indexes from V3
+    private Predicate containsIgnoreCase(Root<User> root, CriteriaBuilder cb, String field, String value) {
+        return cb.like(cb.lower(root.get(field)), SearchUtils.containsPattern(value), SearchUtils.LIKE_ESCAPE);
+    }
+
+    @Override
+    public KeysetSort keysetSort() {
+        if (Objects.isNull(request.getSortField())) {
+            return new KeysetSort(User.ID_FIELD, false);
         }
+        return switch (request.getSortField()) {
+            case USERNAME -> new KeysetSort(User.USERNAME_NAME_FIELD, false);
+            case EMAIL -> new KeysetSort(User.EMAIL_NAME_FIELD, false);
+            case CREATED -> new KeysetSort(User.CREATED_FIELD, false);
+        };
+    }
+
+    private void sort(Root<User> root, CriteriaBuilder cb, CriteriaQuery<?> query) {
+        KeysetSort sort = keysetSort();
+        query.orderBy(cb.asc(root.get(sort.field())));
     }
 }
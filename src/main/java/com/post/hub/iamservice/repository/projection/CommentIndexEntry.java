@@ -0,0 +1,4 @@
+package com.post.hub.iamservice.repository.projection;
+
+public record CommentIndexEntry(Integer id, String message, String createdBy, Boolean deleted) {
+}
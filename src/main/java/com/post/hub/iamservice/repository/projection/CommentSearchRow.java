@@ -0,0 +1,17 @@
+package com.post.hub.iamservice.repository.projection;
+
+import java.time.LocalDateTime;
+
+public record CommentSearchRow(
+        Integer id,
+        String message,
+        Integer ownerId,
+        String ownerUsername,
+        String ownerEmail,
+        Integer postId,
+        LocalDateTime created,
+        LocalDateTime updated,
+        Boolean deleted,
+        String createdBy
+) {
+}
@@ -0,0 +1,4 @@
+package com.post.hub.iamservice.repository.projection;
+
+public record InsertedUser(Integer userId, Integer roleId) {
+}
@@ -0,0 +1,13 @@
+package com.post.hub.iamservice.repository.projection;
+
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+
+import java.util.List;
+
+public record KeysetPage<R>(List<R> content, KeysetCursor nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.post.hub.iamservice.repository.projection;
+
+public record PostIndexEntry(Integer id, String title, String content, Boolean deleted) {
+}
@@ -0,0 +1,16 @@
+package com.post.hub.iamservice.repository.projection;
+
+import java.time.LocalDateTime;
+
+public record PostSearchRow(
+        Integer id,
+        String title,
+        String content,
+        Integer likes,
+        Integer commentCount,
+        Boolean deleted,
+        String createdBy,
+        LocalDateTime created,
+        LocalDateTime updated
+) {
+}
@@ -0,0 +1,9 @@
+package com.post.hub.iamservice.repository.projection;
+
+public record RankedPostRow(
+        PostSearchRow post,
+        Float rank,
+        String titleHighlight,
+        String contentHighlight
+) {
+}
@@ -0,0 +1,10 @@
+package com.post.hub.iamservice.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@code recordedLikes} counts the post_likes rows of the post and {@code recordedWeight} sums their forward-decay
+ * weights; likes beyond the recorded ones predate post_likes and are weighted as if given at creation.
+ */
+public record TrendingPostEntry(Integer id, LocalDateTime created, Integer likes, Long recordedLikes, Double recordedWeight) {
+}
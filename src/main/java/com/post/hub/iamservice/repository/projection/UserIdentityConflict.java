@@ -0,0 +1,4 @@
+package com.post.hub.iamservice.repository.projection;
+
+public record UserIdentityConflict(boolean usernameTaken, boolean emailTaken) {
+}
@@ -0,0 +1,16 @@
+package com.post.hub.iamservice.repository.projection;
+
+import com.post.hub.iamservice.model.enums.RegistrationStatus;
+
+import java.time.LocalDateTime;
+
+public record UserSearchRow(
+        Integer id,
+        String username,
+        String email,
+        RegistrationStatus registrationStatus,
+        LocalDateTime created,
+        Boolean deleted,
+        LocalDateTime updated
+) {
+}
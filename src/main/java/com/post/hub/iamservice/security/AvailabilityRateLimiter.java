@@ -0,0 +1,41 @@
+package com.post.hub.iamservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.post.hub.iamservice.model.constants.ApiErrorMessage;
+import com.post.hub.iamservice.model.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window limit per client address for the anonymous availability check, so it cannot be used
+ * to enumerate which usernames and emails are registered.
+ */
+@Component
+public class AvailabilityRateLimiter {
+
+    private final Cache<String, AtomicInteger> requestsByClient;
+    private final int maxRequests;
+
+    public AvailabilityRateLimiter(@Value("${user.availability.rate.limit:20}") int maxRequests,
+                                   @Value("${user.availability.rate.window:1m}") Duration window,
+                                   @Value("${user.availability.rate.max.clients:100000}") long maxClients) {
+        this.maxRequests = maxRequests;
+        // expireAfterWrite counts from the first request of a window, the counter itself is never rewritten
+        this.requestsByClient = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    public void acquire(String client) {
+        int requests = requestsByClient.get(client, ignored -> new AtomicInteger()).incrementAndGet();
+        if (requests > maxRequests) {
+            throw new TooManyRequestsException(ApiErrorMessage.TOO_MANY_REQUESTS.getMessage());
+        }
+    }
+
+}
@@ -2,7 +2,6 @@ package com.post.hub.iamservice.security.validation;
 
 import com.post.hub.iamservice.model.constants.ApiErrorMessage;
 import com.post.hub.iamservice.model.entities.User;
-import com.post.hub.iamservice.model.exception.DataExistException;
 import com.post.hub.iamservice.model.exception.InvalidDataException;
 import com.post.hub.iamservice.model.exception.InvalidPasswordException;
 import com.post.hub.iamservice.model.exception.NotFoundException;
@@ -22,15 +21,7 @@ public class AccessValidator {
     private final UserRepository userRepository;
     private final ApiUtils apiUtils;
 
-    public void validateNewUser(String username, String email, String password, String confirmPassword) {
-        userRepository.findByUsername(username).ifPresent(existingUser -> {
-            throw new DataExistException(ApiErrorMessage.USERNAME_ALREADY_EXISTS.getMessage(username));
-        });
-
-        userRepository.findByEmail(email).ifPresent(existingUser -> {
-            throw new DataExistException(ApiErrorMessage.EMAIL_ALREADY_EXISTS.getMessage(email));
-        });
-
+    public void validateNewUserPassword(String password, String confirmPassword) {
         if (!password.equals(confirmPassword)) {
             throw new InvalidDataException(ApiErrorMessage.MISMATCH_PASSWORDS.getMessage());
         }
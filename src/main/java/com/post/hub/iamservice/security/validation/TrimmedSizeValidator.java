@@ -0,0 +1,19 @@
+package com.post.hub.iamservice.security.validation;
+
+import com.post.hub.iamservice.utils.TrimmedSize;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class TrimmedSizeValidator implements ConstraintValidator<TrimmedSize, String> {
+    private int min;
+
+    @Override
+    public void initialize(TrimmedSize constraint) {
+        this.min = constraint.min();
+    }
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || value.trim().length() >= min;
+    }
+}
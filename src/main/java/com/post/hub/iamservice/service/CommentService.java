@@ -2,6 +2,7 @@ package com.post.hub.iamservice.service;
 
 import com.post.hub.iamservice.model.dto.comment.CommentDTO;
 import com.post.hub.iamservice.model.dto.comment.CommentSearchDTO;
+import com.post.hub.iamservice.model.enums.CountMode;
 import com.post.hub.iamservice.model.request.comment.CommentRequest;
 import com.post.hub.iamservice.model.request.comment.CommentSearchRequest;
 import com.post.hub.iamservice.model.request.comment.UpdateCommentRequest;
@@ -21,6 +22,16 @@ public interface CommentService {
 
     IamResponse<PaginationResponse<CommentSearchDTO>> searchComments(CommentSearchRequest request, Pageable pageable);
 
+    IamResponse<PaginationResponse<CommentSearchDTO>> findAllComments(Pageable pageable, CountMode countMode);
+
+    IamResponse<PaginationResponse<CommentSearchDTO>> searchComments(CommentSearchRequest request, Pageable pageable, CountMode countMode);
+
+    IamResponse<PaginationResponse<CommentSearchDTO>> findAllCommentsAfter(String cursor, int limit);
+
+    IamResponse<PaginationResponse<CommentSearchDTO>> searchCommentsAfter(CommentSearchRequest request, String cursor, int limit);
+
+    IamResponse<PaginationResponse<CommentSearchDTO>> findPostCommentsAfter(Integer postId, String cursor, int limit);
+
     void softDelete(Integer commentId);
 
 }
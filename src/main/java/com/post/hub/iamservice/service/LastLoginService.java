@@ -0,0 +1,11 @@
+package com.post.hub.iamservice.service;
+
+import java.time.LocalDateTime;
+
+public interface LastLoginService {
+
+    void registerLogin(Integer userId, LocalDateTime loginTime);
+
+    void flush();
+
+}
@@ -0,0 +1,7 @@
+package com.post.hub.iamservice.service;
+
+public interface PostCommentCountService {
+
+    int repairCommentCounts();
+
+}
@@ -0,0 +1,11 @@
+package com.post.hub.iamservice.service;
+
+public interface PostLikeService {
+
+    void registerLikes(Integer postId, long delta);
+
+    long pendingLikes(Integer postId);
+
+    void flush();
+
+}
@@ -1,7 +1,12 @@
 package com.post.hub.iamservice.service;
 
+import com.post.hub.iamservice.model.dto.post.PostAutocompleteDTO;
+import com.post.hub.iamservice.model.dto.post.PostBatchDTO;
 import com.post.hub.iamservice.model.dto.post.PostDTO;
+import com.post.hub.iamservice.model.dto.post.PostLikeDTO;
 import com.post.hub.iamservice.model.dto.post.PostSearchDTO;
+import com.post.hub.iamservice.model.dto.post.PostTrendingDTO;
+import com.post.hub.iamservice.model.enums.CountMode;
 import com.post.hub.iamservice.model.request.post.NewPostRequest;
 import com.post.hub.iamservice.model.request.post.PostSearchRequest;
 import com.post.hub.iamservice.model.request.post.UpdatePostRequest;
@@ -9,6 +14,7 @@ import com.post.hub.iamservice.model.response.IamResponse;
 import com.post.hub.iamservice.model.response.PaginationResponse;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 
 public interface PostService {
 
@@ -18,10 +24,28 @@ public interface PostService {
 
     IamResponse<PostDTO> getById(Integer postId);
 
+    IamResponse<PostBatchDTO> getByIds(List<Integer> postIds);
+
     IamResponse<PaginationResponse<PostSearchDTO>> findAllPosts(Pageable pageable);
 
+    IamResponse<PostAutocompleteDTO> suggestTitles(String prefix, int limit);
+
+    IamResponse<PostTrendingDTO> findTrendingPosts(int limit);
+
     IamResponse<PaginationResponse<PostSearchDTO>> searchPosts(PostSearchRequest request, Pageable pageable);
 
+    IamResponse<PaginationResponse<PostSearchDTO>> findAllPosts(Pageable pageable, CountMode countMode);
+
+    IamResponse<PaginationResponse<PostSearchDTO>> searchPosts(PostSearchRequest request, Pageable pageable, CountMode countMode);
+
+    IamResponse<PaginationResponse<PostSearchDTO>> findAllPostsAfter(String cursor, int limit);
+
+    IamResponse<PaginationResponse<PostSearchDTO>> searchPostsAfter(PostSearchRequest request, String cursor, int limit);
+
+    IamResponse<PostLikeDTO> likePost(Integer postId);
+
+    IamResponse<PostLikeDTO> unlikePost(Integer postId);
+
     void softDeletePost(Integer postId);
 
 }
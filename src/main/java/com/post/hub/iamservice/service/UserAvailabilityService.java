@@ -0,0 +1,12 @@
+package com.post.hub.iamservice.service;
+
+import com.post.hub.iamservice.model.dto.user.UserAvailabilityDTO;
+import com.post.hub.iamservice.model.response.IamResponse;
+
+public interface UserAvailabilityService {
+
+    IamResponse<UserAvailabilityDTO> checkAvailability(String username, String email);
+
+    void rebuildIndex();
+
+}
@@ -0,0 +1,10 @@
+package com.post.hub.iamservice.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+
+    void exportUsers(Integer afterId, OutputStream output) throws IOException;
+
+}
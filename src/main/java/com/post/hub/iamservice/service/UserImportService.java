@@ -0,0 +1,13 @@
+package com.post.hub.iamservice.service;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface UserImportService {
+
+    void importUsers(InputStream input, MediaType contentType, OutputStream output) throws IOException;
+
+}
@@ -1,7 +1,9 @@
 package com.post.hub.iamservice.service;
 
+import com.post.hub.iamservice.model.dto.user.UserBatchDTO;
 import com.post.hub.iamservice.model.dto.user.UserDTO;
 import com.post.hub.iamservice.model.dto.user.UserSearchDTO;
+import com.post.hub.iamservice.model.enums.CountMode;
 import com.post.hub.iamservice.model.request.user.NewUserRequest;
 import com.post.hub.iamservice.model.request.user.UpdateUserRequest;
 import com.post.hub.iamservice.model.request.user.UserSearchRequest;
@@ -10,6 +12,8 @@ import com.post.hub.iamservice.model.response.PaginationResponse;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import java.util.List;
+
 public interface UserService extends UserDetailsService {
 
     IamResponse<UserDTO> createUser(NewUserRequest request);
@@ -18,10 +22,20 @@ public interface UserService extends UserDetailsService {
 
     IamResponse<UserDTO> getById(Integer userId);
 
+    IamResponse<UserBatchDTO> getByIds(List<Integer> userIds);
+
     IamResponse<PaginationResponse<UserSearchDTO>> findAllUsers(Pageable pageable);
 
     IamResponse<PaginationResponse<UserSearchDTO>> searchUsers(UserSearchRequest request, Pageable pageable);
 
+    IamResponse<PaginationResponse<UserSearchDTO>> findAllUsers(Pageable pageable, CountMode countMode);
+
+    IamResponse<PaginationResponse<UserSearchDTO>> searchUsers(UserSearchRequest request, Pageable pageable, CountMode countMode);
+
+    IamResponse<PaginationResponse<UserSearchDTO>> findAllUsersAfter(String cursor, int limit);
+
+    IamResponse<PaginationResponse<UserSearchDTO>> searchUsersAfter(UserSearchRequest request, String cursor, int limit);
+
     void softDeleteUser(Integer userId);
 
 }
@@ -0,0 +1,42 @@
+package com.post.hub.iamservice.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.post.hub.iamservice.repository.TableStatisticsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Totals for {@code count=APPROXIMATE}: unfiltered lists read the planner estimate of the table,
+ * filtered searches reuse an exact count for a short TTL. Keys hold the normalized filter values only,
+ * sort fields never change a count.
+ */
+@Component
+public class ApproximateCounter {
+
+    private final TableStatisticsRepository tableStatisticsRepository;
+    private final Cache<List<Object>, Long> exactCounts;
+
+    public ApproximateCounter(TableStatisticsRepository tableStatisticsRepository,
+                              @Value("${search.count.cache.ttl:30s}") Duration ttl,
+                              @Value("${search.count.cache.max.size:10000}") long maxSize) {
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.exactCounts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public long count(String table, List<Object> filter, LongSupplier exactCount) {
+        if (filter.stream().allMatch(Objects::isNull)) {
+            return tableStatisticsRepository.estimateRowCount(table).orElseGet(exactCount);
+        }
+        return exactCounts.get(List.of(table, filter), ignored -> exactCount.getAsLong());
+    }
+
+}
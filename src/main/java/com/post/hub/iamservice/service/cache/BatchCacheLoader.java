@@ -0,0 +1,91 @@
+package com.post.hub.iamservice.service.cache;
+
+import com.post.hub.iamservice.model.constants.ApiErrorMessage;
+import com.post.hub.iamservice.model.exception.InvalidDataException;
+import com.post.hub.iamservice.model.response.IamResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Multi-get over the read-through caches of single lookups by id: hits are answered from the cache, all misses
+ * are loaded by one call and cached as the matching single lookup would have been. The result keeps the order
+ * of the requested ids and maps an id that does not exist to null.
+ * <p>
+ * Each miss is registered as an in-flight load of its key, so a write committing during the batch query keeps
+ * the old row out of the cache exactly as it does for a single lookup. Misses another load is already running
+ * for, and misses of caches without load registration, are returned but not cached.
+ */
+@Component
+public class BatchCacheLoader {
+
+    private final CacheManager cacheManager;
+    private final int maxIds;
+
+    public BatchCacheLoader(CacheManager cacheManager,
+                            @Value("${cache.batch.max.ids:100}") int maxIds) {
+        this.cacheManager = cacheManager;
+        this.maxIds = maxIds;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <P extends Serializable> Map<Integer, P> getAll(String cacheName, Collection<Integer> ids,
+                                                           Function<List<Integer>, Map<Integer, P>> loader) {
+        List<Integer> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.size() > maxIds) {
+            throw new InvalidDataException(ApiErrorMessage.TOO_MANY_IDS.getMessage(maxIds));
+        }
+
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName));
+        Map<Integer, P> result = new LinkedHashMap<>();
+        List<Integer> misses = new ArrayList<>();
+        for (Integer id : distinctIds) {
+            IamResponse<P> cached = cache.get(id, IamResponse.class);
+            result.put(id, cached == null ? null : cached.getPayload());
+            if (cached == null) {
+                misses.add(id);
+            }
+        }
+
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        CoalescingCaffeineCache coalescing = cache instanceof CoalescingCaffeineCache c ? c : null;
+        Map<Integer, CompletableFuture<Object>> loads = new HashMap<>();
+        if (coalescing != null) {
+            for (Integer id : misses) {
+                CompletableFuture<Object> load = coalescing.beginLoad(id);
+                if (load != null) {
+                    loads.put(id, load);
+                }
+            }
+        }
+
+        Map<Integer, P> loaded = Map.of();
+        try {
+            loaded = loader.apply(misses);
+            result.putAll(loaded);
+        } finally {
+            for (Map.Entry<Integer, CompletableFuture<Object>> load : loads.entrySet()) {
+                P value = loaded.get(load.getKey());
+                coalescing.completeLoad(load.getKey(), load.getValue(),
+                        value == null ? null : IamResponse.createSuccessful(value));
+            }
+        }
+        return result;
+    }
+
+}
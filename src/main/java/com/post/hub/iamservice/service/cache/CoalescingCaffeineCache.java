@@ -0,0 +1,181 @@
+package com.post.hub.iamservice.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.post.hub.iamservice.model.exception.NotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.CacheOperationInvoker;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight loading for {@code @Cacheable(sync = true)}: on a miss one caller runs the loader and concurrent
+ * callers for the same key wait for its result, so an expired hot entry costs one query instead of one per request.
+ * Waiters block on a future outside of Caffeine's compute, so they neither hold its map locks nor, as caching wraps
+ * the transactional proxy, a database connection.
+ * <p>
+ * Keys whose loader threw {@link NotFoundException} are remembered in a separate bounded cache and answered with
+ * the same exception until they expire or the key is written or evicted, which creates do for the new id.
+ * <p>
+ * A write (put, evict, clear) detaches the key's in-flight load, acting as a generation bump scoped to the loads
+ * that are running: the load only stores its value or NotFoundException while it is still the registered one, so a
+ * read that started before an update committed cannot put the old DTO back after the eviction. Callers arriving
+ * after the write start a new load instead of joining the detached one.
+ * <p>
+ * Loads run outside of {@link #get(Object, Callable)}, such as one query for a batch of keys, take part through
+ * {@link #beginLoad} and {@link #completeLoad} under the same rules.
+ */
+public class CoalescingCaffeineCache extends CaffeineCache {
+    // result of a load that produced nothing for its key, waiters then run their own load
+    private static final Object ABANDONED = new Object();
+
+    private final Map<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    private final Cache<Object, NotFoundException> missing;
+    private final Counter coalesced;
+    private final Counter missingHits;
+
+    public CoalescingCaffeineCache(String name, Cache<Object, Object> cache, Cache<Object, NotFoundException> missing,
+                                   boolean allowNullValues, MeterRegistry meterRegistry) {
+        super(name, cache, allowNullValues);
+        this.missing = missing;
+        this.coalesced = Counter.builder("cache.coalesced")
+                .tag("cache", name)
+                .description("Lookups that waited for a concurrent load of the same key instead of loading it")
+                .register(meterRegistry);
+        this.missingHits = Counter.builder("cache.missing.hits")
+                .tag("cache", name)
+                .description("Lookups of keys known to be missing that were answered without loading")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        NotFoundException knownMissing = missing.getIfPresent(key);
+        if (knownMissing != null) {
+            missingHits.increment();
+            throw knownMissing;
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(key, load);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                Object value = running.join();
+                return value == ABANDONED ? get(key, valueLoader) : (T) value;
+            } catch (CompletionException ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+            }
+        }
+
+        try {
+            T value = valueLoader.call();
+            storeIfCurrent(key, load, () -> {
+                super.put(key, value);
+                missing.invalidate(key);
+            });
+            load.complete(value);
+            return value;
+        } catch (Exception ex) {
+            Throwable cause = ex instanceof CacheOperationInvoker.ThrowableWrapper wrapper ? wrapper.getOriginal() : ex;
+            if (cause instanceof NotFoundException notFound) {
+                storeIfCurrent(key, load, () -> missing.put(key, notFound));
+            }
+            load.completeExceptionally(ex);
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Registers a load of the key run by the caller, or returns null when one is already running. Lookups of the
+     * key wait for it until {@link #completeLoad} is called, which the caller must do whatever the load's outcome.
+     */
+    public CompletableFuture<Object> beginLoad(Object key) {
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        return loading.putIfAbsent(key, load) == null ? load : null;
+    }
+
+    /**
+     * Caches the value unless a write detached the load since it began, and hands it to the waiting lookups.
+     * A null value caches nothing and lets the waiters load the key themselves.
+     */
+    public void completeLoad(Object key, CompletableFuture<Object> load, Object value) {
+        if (value != null) {
+            storeIfCurrent(key, load, () -> {
+                super.put(key, value);
+                missing.invalidate(key);
+            });
+        }
+        loading.remove(key, load);
+        load.complete(value == null ? ABANDONED : value);
+    }
+
+    // Writes detach the in-flight load before touching the entry, so its store either lands first and is
+    // overwritten or evicted, or sees it is no longer current and is dropped
+
+    @Override
+    public void put(Object key, Object value) {
+        loading.remove(key);
+        super.put(key, value);
+        missing.invalidate(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        loading.remove(key);
+        missing.invalidate(key);
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        loading.remove(key);
+        super.evict(key);
+        missing.invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        loading.remove(key);
+        boolean missingEvicted = missing.asMap().remove(key) != null;
+        return super.evictIfPresent(key) || missingEvicted;
+    }
+
+    @Override
+    public void clear() {
+        loading.clear();
+        super.clear();
+        missing.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        loading.clear();
+        missing.invalidateAll();
+        return super.invalidate();
+    }
+
+    // Runs under the key's lock in loading, which every write takes through loading.remove first
+    private void storeIfCurrent(Object key, CompletableFuture<Object> load, Runnable store) {
+        loading.computeIfPresent(key, (k, current) -> {
+            if (current != load) {
+                return current;
+            }
+            store.run();
+            return null;
+        });
+    }
+
+}
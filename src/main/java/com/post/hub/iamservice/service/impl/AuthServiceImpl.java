@@ -3,10 +3,12 @@ package com.post.hub.iamservice.service.impl;
 import com.post.hub.iamservice.mapper.UserMapper;
 import com.post.hub.iamservice.model.constants.ApiErrorMessage;
 import com.post.hub.iamservice.model.constants.ApiLogMessage;
+import com.post.hub.iamservice.model.constants.CacheNames;
 import com.post.hub.iamservice.model.dto.user.UserProfileDTO;
 import com.post.hub.iamservice.model.entities.RefreshToken;
 import com.post.hub.iamservice.model.entities.Role;
 import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.model.exception.DataExistException;
 import com.post.hub.iamservice.model.exception.InvalidDataException;
 import com.post.hub.iamservice.model.exception.InvalidPasswordException;
 import com.post.hub.iamservice.model.exception.NotFoundException;
@@ -14,17 +16,21 @@ import com.post.hub.iamservice.model.request.user.ChangePasswordRequest;
 import com.post.hub.iamservice.model.request.user.LoginRequest;
 import com.post.hub.iamservice.model.request.user.RegistrationUserRequest;
 import com.post.hub.iamservice.model.response.IamResponse;
-import com.post.hub.iamservice.repository.RoleRepository;
 import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.repository.projection.InsertedUser;
+import com.post.hub.iamservice.repository.projection.UserIdentityConflict;
 import com.post.hub.iamservice.security.JwtTokenProvider;
 import com.post.hub.iamservice.security.validation.AccessValidator;
 import com.post.hub.iamservice.service.AuthService;
 import com.post.hub.iamservice.service.RefreshTokenService;
+import com.post.hub.iamservice.service.index.UserIdentityIndex;
 import com.post.hub.iamservice.service.model.IamServiceUserRole;
 import com.post.hub.iamservice.utils.ApiUtils;
 import com.post.hub.iamservice.utils.PasswordUtils;
+import com.post.hub.iamservice.utils.TransactionUtils;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -44,10 +50,10 @@ public class AuthServiceImpl implements AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
     private final RefreshTokenService refreshTokenService;
-    private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final AccessValidator accessValidator;
     private final ApiUtils apiUtils;
+    private final UserIdentityIndex userIdentityIndex;
 
     @Override
     @Transactional
@@ -87,25 +93,33 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.USERS, key = "#result.payload.id")
     public IamResponse<UserProfileDTO> registerUser(RegistrationUserRequest request) {
-        accessValidator.validateNewUser(
-                request.getUsername(),
-                request.getEmail(),
-                request.getPassword(),
-                request.getConfirmPassword()
-        );
-
-        Role userRole = roleRepository.findByName(IamServiceUserRole.USER.getRole())
-                .orElseThrow(() -> new NotFoundException(ApiErrorMessage.USER_ROLE_NOT_FOUND.getMessage()));
+        accessValidator.validateNewUserPassword(request.getPassword(), request.getConfirmPassword());
 
         User newUser = userMapper.fromDto(request);
         newUser.setPassword(passwordEncoder.encode(request.getPassword()));
+
+        String roleName = IamServiceUserRole.USER.getRole();
+        InsertedUser insertedUser = userRepository.insertUserIfAbsent(newUser, roleName)
+                .orElseThrow(() -> duplicateUserException(request));
+
+        if (insertedUser.roleId() == null) {
+            throw new NotFoundException(ApiErrorMessage.USER_ROLE_NOT_FOUND.getMessage());
+        }
+
+        Role userRole = new Role();
+        userRole.setId(insertedUser.roleId());
+        userRole.setName(roleName);
         Set<Role> roles = new HashSet<>();
         roles.add(userRole);
+        newUser.setId(insertedUser.userId());
         newUser.setRoles(roles);
-        userRepository.save(newUser);
+        TransactionUtils.afterCommit(() -> userIdentityIndex.add(newUser.getUsername(), newUser.getEmail()));
 
-        RefreshToken refreshToken = refreshTokenService.generateOrUpdateRefreshToken(newUser);
+        RefreshToken refreshToken = refreshTokenService.generateOrUpdateRefreshToken(
+                userRepository.getReferenceById(insertedUser.userId())
+        );
         String token = jwtTokenProvider.generateToken(newUser);
         UserProfileDTO userProfileDTO = userMapper.toUserProfileDTO(newUser, token, refreshToken.getToken());
         userProfileDTO.setToken(token);
@@ -130,4 +144,12 @@ public class AuthServiceImpl implements AuthService {
         return IamResponse.createSuccessful(ApiLogMessage.PASSWORD_CHANGED_SUCCESSFULLY.getValue());
     }
 
+    private DataExistException duplicateUserException(RegistrationUserRequest request) {
+        UserIdentityConflict conflict = userRepository.findIdentityConflict(request.getUsername(), request.getEmail());
+        if (conflict.emailTaken() && !conflict.usernameTaken()) {
+            return new DataExistException(ApiErrorMessage.EMAIL_ALREADY_EXISTS.getMessage(request.getEmail()));
+        }
+        return new DataExistException(ApiErrorMessage.USERNAME_ALREADY_EXISTS.getMessage(request.getUsername()));
+    }
+
 }
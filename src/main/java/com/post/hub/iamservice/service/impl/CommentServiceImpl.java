@@ -3,11 +3,13 @@ package com.post.hub.iamservice.service.impl;
 import com.post.hub.iamservice.kafka.service.KafkaMessageService;
 import com.post.hub.iamservice.mapper.CommentMapper;
 import com.post.hub.iamservice.model.constants.ApiErrorMessage;
+import com.post.hub.iamservice.model.constants.CacheNames;
 import com.post.hub.iamservice.model.dto.comment.CommentDTO;
 import com.post.hub.iamservice.model.dto.comment.CommentSearchDTO;
 import com.post.hub.iamservice.model.entities.Comment;
 import com.post.hub.iamservice.model.entities.Post;
 import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.model.enums.CountMode;
 import com.post.hub.iamservice.model.exception.NotFoundException;
 import com.post.hub.iamservice.model.request.comment.CommentRequest;
 import com.post.hub.iamservice.model.request.comment.CommentSearchRequest;
@@ -18,17 +20,36 @@ import com.post.hub.iamservice.repository.CommentRepository;
 import com.post.hub.iamservice.repository.PostRepository;
 import com.post.hub.iamservice.repository.UserRepository;
 import com.post.hub.iamservice.repository.criteria.CommentSearchCriteria;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+import com.post.hub.iamservice.repository.criteria.PostCommentsCriteria;
+import com.post.hub.iamservice.repository.projection.CommentSearchRow;
+import com.post.hub.iamservice.repository.projection.KeysetPage;
 import com.post.hub.iamservice.security.validation.AccessValidator;
 import com.post.hub.iamservice.service.CommentService;
+import com.post.hub.iamservice.service.cache.ApproximateCounter;
+import com.post.hub.iamservice.service.index.CommentSearchIndex;
 import com.post.hub.iamservice.utils.ApiUtils;
+import com.post.hub.iamservice.utils.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -40,9 +61,15 @@ public class CommentServiceImpl implements CommentService {
     private final ApiUtils apiUtils;
     private final AccessValidator accessValidator;
     private final KafkaMessageService kafkaMessageService;
+    private final ApproximateCounter approximateCounter;
+    private final CommentSearchIndex commentSearchIndex;
+
+    @Value("${post.comments.max.limit:100}")
+    private int postCommentsMaxLimit;
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.COMMENTS, key = "#result.payload.id")
     public IamResponse<CommentDTO> createComment(CommentRequest request) {
         Integer userId = apiUtils.getUserIdFromAuthentication();
         User user = userRepository.findById(userId)
@@ -53,6 +80,8 @@ public class CommentServiceImpl implements CommentService {
 
         Comment comment = commentMapper.createComment(request, user, post);
         comment = commentRepository.save(comment);
+        postRepository.addCommentCount(post.getId(), 1);
+        reindexAfterCommit(comment);
 
         kafkaMessageService.sendCommentCreatedMessage(user.getId(), comment.getId());
 
@@ -61,6 +90,7 @@ public class CommentServiceImpl implements CommentService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.COMMENTS, key = "#commentId")
     public IamResponse<CommentDTO> updateComment(Integer commentId, UpdateCommentRequest request) {
         Comment comment = commentRepository.findByIdAndDeletedFalse(commentId)
                 .orElseThrow(() -> new NotFoundException(ApiErrorMessage.COMMENT_NOT_FOUND_BY_ID.getMessage(commentId)));
@@ -70,11 +100,14 @@ public class CommentServiceImpl implements CommentService {
         if (request.getPostId() != null) {
             Post post = postRepository.findById(request.getPostId())
                     .orElseThrow(() -> new NotFoundException(ApiErrorMessage.POST_NOT_FOUND_BY_ID.getMessage(request.getPostId())));
+            moveCommentCount(comment.getPost().getId(), post.getId());
             comment.setPost(post);
         }
 
         commentMapper.updateComment(comment, request);
+        comment.setUpdated(LocalDateTime.now());
         comment = commentRepository.save(comment);
+        reindexAfterCommit(comment);
 
         kafkaMessageService.sendCommentUpdatedMessage(comment.getUser().getId(), comment.getId(), comment.getMessage());
 
@@ -83,6 +116,7 @@ public class CommentServiceImpl implements CommentService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.COMMENTS, key = "#commentId", sync = true)
     public IamResponse<CommentDTO> getCommentById(Integer commentId) {
         Comment comment = commentRepository.findByIdAndDeletedFalse(commentId)
                 .orElseThrow(() -> new NotFoundException(ApiErrorMessage.COMMENT_NOT_FOUND_BY_ID.getMessage(commentId)));
@@ -112,10 +146,9 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional(readOnly = true)
     public IamResponse<PaginationResponse<CommentSearchDTO>> searchComments(CommentSearchRequest request, Pageable pageable) {
-        Specification<Comment> specification = new CommentSearchCriteria(request);
-
-        Page<CommentSearchDTO> commentsPage = commentRepository.findAll(specification, pageable)
-                .map(commentMapper::toCommentSearchDTO);
+        Page<CommentSearchDTO> commentsPage = searchIndex(request, pageable)
+                .orElseGet(() -> commentRepository.searchRows(new CommentSearchCriteria(request), pageable)
+                        .map(commentMapper::toCommentSearchDTO));
 
         PaginationResponse<CommentSearchDTO> response = PaginationResponse.<CommentSearchDTO>builder()
                 .content(commentsPage.getContent())
@@ -132,8 +165,77 @@ public class CommentServiceImpl implements CommentService {
         return IamResponse.createSuccessful(response);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<CommentSearchDTO>> findAllComments(Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return findAllComments(pageable);
+        }
+
+        Slice<CommentSearchDTO> comments = commentRepository.findAllBy(pageable)
+                .map(commentMapper::toCommentSearchDTO);
+        Long total = countMode == CountMode.APPROXIMATE
+                ? approximateCounter.count("comments", List.of(), commentRepository::count)
+                : null;
+
+        return IamResponse.createSuccessful(PaginationResponse.slice(comments, total));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<CommentSearchDTO>> searchComments(CommentSearchRequest request, Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return searchComments(request, pageable);
+        }
+
+        Specification<Comment> specification = new CommentSearchCriteria(request);
+        Slice<CommentSearchDTO> comments = commentRepository.searchRowSlice(specification, pageable)
+                .map(commentMapper::toCommentSearchDTO);
+        Long total = countMode == CountMode.APPROXIMATE
+                ? approximateCounter.count("comments", Arrays.asList(request.getMessage(), request.getCreatedBy(), request.getDeleted(), request.getPostId(), request.getKeyword()), () -> commentRepository.countRows(specification))
+                : null;
+
+        return IamResponse.createSuccessful(PaginationResponse.slice(comments, total));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<CommentSearchDTO>> findAllCommentsAfter(String cursor, int limit) {
+        return searchCommentsAfter(new CommentSearchRequest(), cursor, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<CommentSearchDTO>> searchCommentsAfter(CommentSearchRequest request, String cursor, int limit) {
+        KeysetPage<CommentSearchRow> rows = commentRepository.searchRowsAfter(new CommentSearchCriteria(request), KeysetCursor.decode(cursor), limit);
+        List<CommentSearchDTO> content = rows.content().stream()
+                .map(commentMapper::toCommentSearchDTO)
+                .collect(Collectors.toList());
+
+        String nextCursor = rows.hasNext() ? rows.nextCursor().encode() : null;
+        return IamResponse.createSuccessful(PaginationResponse.keyset(content, limit, nextCursor));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<CommentSearchDTO>> findPostCommentsAfter(Integer postId, String cursor, int limit) {
+        if (!postRepository.existsByIdAndDeletedFalse(postId)) {
+            throw new NotFoundException(ApiErrorMessage.POST_NOT_FOUND_BY_ID.getMessage(postId));
+        }
+
+        int pageSize = Math.min(limit, postCommentsMaxLimit);
+        KeysetPage<CommentSearchRow> rows = commentRepository.searchRowsAfter(new PostCommentsCriteria(postId), KeysetCursor.decode(cursor), pageSize);
+        List<CommentSearchDTO> content = rows.content().stream()
+                .map(commentMapper::toCommentSearchDTO)
+                .toList();
+
+        String nextCursor = rows.hasNext() ? rows.nextCursor().encode() : null;
+        return IamResponse.createSuccessful(PaginationResponse.keyset(content, pageSize, nextCursor));
+    }
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.COMMENTS, key = "#commentId")
     public void softDelete(Integer commentId) {
         Comment comment = commentRepository.findByIdAndDeletedFalse(commentId)
                 .orElseThrow(() -> new NotFoundException(ApiErrorMessage.COMMENT_NOT_FOUND_BY_ID.getMessage(commentId)));
@@ -141,8 +243,37 @@ public class CommentServiceImpl implements CommentService {
         accessValidator.validateAdminOrOwnerAccess(comment.getUser().getId());
 
         comment.setDeleted(true);
+        comment.setUpdated(LocalDateTime.now());
         commentRepository.save(comment);
+        postRepository.addCommentCount(comment.getPost().getId(), -1);
+        reindexAfterCommit(comment);
 
         kafkaMessageService.sendCommentDeletedMessage(comment.getUser().getId(), comment.getId());
     }
+
+    private Optional<Page<CommentSearchDTO>> searchIndex(CommentSearchRequest request, Pageable pageable) {
+        return commentSearchIndex.search(request, pageable)
+                .map(ids -> new PageImpl<>(commentRepository.findRowsByIds(ids.getContent()).stream()
+                        .map(commentMapper::toCommentSearchDTO)
+                        .toList(), pageable, ids.getTotalElements()));
+    }
+
+    private void reindexAfterCommit(Comment comment) {
+        TransactionUtils.afterCommit(() -> commentSearchIndex.put(comment));
+    }
+
+    // Both post rows are locked in id order, so two comments moved in opposite directions cannot deadlock
+    private void moveCommentCount(Integer fromPostId, Integer toPostId) {
+        if (Objects.equals(fromPostId, toPostId)) {
+            return;
+        }
+        if (fromPostId < toPostId) {
+            postRepository.addCommentCount(fromPostId, -1);
+            postRepository.addCommentCount(toPostId, 1);
+        } else {
+            postRepository.addCommentCount(toPostId, 1);
+            postRepository.addCommentCount(fromPostId, -1);
+        }
+    }
+
 }
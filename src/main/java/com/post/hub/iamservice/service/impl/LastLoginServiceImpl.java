@@ -0,0 +1,75 @@
+package com.post.hub.iamservice.service.impl;
+
+import com.post.hub.iamservice.model.constants.ApiErrorMessage;
+import com.post.hub.iamservice.model.constants.ApiLogMessage;
+import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.service.LastLoginService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LastLoginServiceImpl implements LastLoginService {
+    private final UserRepository userRepository;
+
+    private final Map<Integer, LocalDateTime> pendingLogins = new ConcurrentHashMap<>();
+
+    @Value("${last.login.flush.batch.size:500}")
+    private int batchSize;
+
+    @Override
+    public void registerLogin(Integer userId, LocalDateTime loginTime) {
+        pendingLogins.merge(userId, loginTime, (current, latest) -> latest.isAfter(current) ? latest : current);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${last.login.flush.interval:5000}")
+    public synchronized void flush() {
+        if (pendingLogins.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, LocalDateTime> batch = new HashMap<>();
+        for (Integer userId : pendingLogins.keySet()) {
+            LocalDateTime loginTime = pendingLogins.remove(userId);
+            if (loginTime != null) {
+                batch.put(userId, loginTime);
+            }
+            if (batch.size() == batchSize) {
+                flushBatch(batch);
+                batch = new HashMap<>();
+            }
+        }
+        flushBatch(batch);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushBatch(Map<Integer, LocalDateTime> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            int updated = userRepository.updateLastLogins(batch);
+            log.debug(ApiLogMessage.LAST_LOGIN_FLUSHED.getValue(), updated, batch.size());
+        } catch (RuntimeException ex) {
+            log.error(ApiErrorMessage.LAST_LOGIN_FLUSH_FAILED.getMessage(batch.size()), ex);
+            batch.forEach(this::registerLogin);
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.post.hub.iamservice.service.impl;
+
+import com.post.hub.iamservice.model.constants.ApiLogMessage;
+import com.post.hub.iamservice.repository.PostRepository;
+import com.post.hub.iamservice.service.PostCommentCountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostCommentCountServiceImpl implements PostCommentCountService {
+    private final PostRepository postRepository;
+
+    @Value("${post.comment.count.repair.batch.size:1000}")
+    private int batchSize;
+
+    // Walks post ids in ranges, each recounted in its own short transaction so posts are not locked for the whole pass.
+    // Runs on every instance: the recount is idempotent, and a range already being recounted elsewhere is skipped
+    @Override
+    @Scheduled(
+            initialDelayString = "${post.comment.count.repair.interval:3600000}",
+            fixedDelayString = "${post.comment.count.repair.interval:3600000}"
+    )
+    public int repairCommentCounts() {
+        int maxId = postRepository.findMaxId().orElse(0);
+        int repaired = 0;
+        for (int fromId = 0; fromId < maxId; fromId += batchSize) {
+            repaired += postRepository.recountComments(fromId, Math.min(fromId + batchSize, maxId));
+        }
+
+        log.info(ApiLogMessage.POST_COMMENT_COUNTS_REPAIRED.getValue(), repaired);
+        return repaired;
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.post.hub.iamservice.service.impl;
+
+import com.post.hub.iamservice.model.constants.ApiErrorMessage;
+import com.post.hub.iamservice.model.constants.ApiLogMessage;
+import com.post.hub.iamservice.repository.PostRepository;
+import com.post.hub.iamservice.repository.projection.PostTitleEntry;
+import com.post.hub.iamservice.service.PostLikeService;
+import com.post.hub.iamservice.service.index.PostTitleIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostLikeServiceImpl implements PostLikeService {
+    private final PostRepository postRepository;
+    private final PostTitleIndex postTitleIndex;
+
+    // LongAdder stripes its cells per thread, so likes on one hot post do not contend on a single value
+    private final Map<Integer, LongAdder> pendingLikes = new ConcurrentHashMap<>();
+
+    @Value("${post.likes.flush.batch.size:500}")
+    private int batchSize;
+
+    @Override
+    public void registerLikes(Integer postId, long delta) {
+        LongAdder likes = pendingLikes.computeIfAbsent(postId, id -> new LongAdder());
+        likes.add(delta);
+        // evictIdle may have retired this counter in the meantime. sumThenReset hands every unit to exactly one
+        // drainer, so whatever it has not already re-registered is moved to the live counter here
+        if (pendingLikes.get(postId) != likes) {
+            long late = likes.sumThenReset();
+            if (late != 0) {
+                registerLikes(postId, late);
+            }
+        }
+    }
+
+    @Override
+    public long pendingLikes(Integer postId) {
+        LongAdder likes = pendingLikes.get(postId);
+        return likes == null ? 0 : likes.sum();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${post.likes.flush.interval:1000}")
+    public synchronized void flush() {
+        if (pendingLikes.isEmpty()) {
+            return;
+        }
+
+        // sorted, so a batch locks its posts in id order
+        Map<Integer, Long> batch = new TreeMap<>();
+        for (Map.Entry<Integer, LongAdder> entry : pendingLikes.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0) {
+                evictIdle(entry.getKey(), entry.getValue());
+                continue;
+            }
+
+            batch.put(entry.getKey(), delta);
+            if (batch.size() == batchSize) {
+                flushBatch(batch);
+                batch = new TreeMap<>();
+            }
+        }
+        flushBatch(batch);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void evictIdle(Integer postId, LongAdder likes) {
+        // A post that was not liked for a whole interval gives its counter up; likes that raced the removal are
+        // re-registered either here or by registerLikes, whichever drains them first
+        if (pendingLikes.remove(postId, likes)) {
+            long late = likes.sumThenReset();
+            if (late != 0) {
+                registerLikes(postId, late);
+            }
+        }
+    }
+
+    private void flushBatch(Map<Integer, Long> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<PostTitleEntry> updated;
+        try {
+            updated = postRepository.addLikes(batch);
+        } catch (RuntimeException ex) {
+            log.error(ApiErrorMessage.POST_LIKES_FLUSH_FAILED.getMessage(batch.size()), ex);
+            batch.forEach(this::registerLikes);
+            return;
+        }
+
+        log.debug(ApiLogMessage.POST_LIKES_FLUSHED.getValue(), updated.size(), batch.size());
+        // autocomplete ranks by likes, so it follows the flushed totals rather than every single like
+        postTitleIndex.updateLikes(updated);
+    }
+
+}
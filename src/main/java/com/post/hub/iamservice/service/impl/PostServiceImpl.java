@@ -1,12 +1,20 @@
 package com.post.hub.iamservice.service.impl;
 
+import com.post.hub.iamservice.kafka.model.utils.ActionType;
 import com.post.hub.iamservice.kafka.service.KafkaMessageService;
 import com.post.hub.iamservice.mapper.PostMapper;
 import com.post.hub.iamservice.model.constants.ApiErrorMessage;
+import com.post.hub.iamservice.model.constants.CacheNames;
+import com.post.hub.iamservice.model.dto.post.PostAutocompleteDTO;
+import com.post.hub.iamservice.model.dto.post.PostBatchDTO;
 import com.post.hub.iamservice.model.dto.post.PostDTO;
+import com.post.hub.iamservice.model.dto.post.PostLikeDTO;
 import com.post.hub.iamservice.model.dto.post.PostSearchDTO;
+import com.post.hub.iamservice.model.dto.post.PostTitleSuggestionDTO;
+import com.post.hub.iamservice.model.dto.post.PostTrendingDTO;
 import com.post.hub.iamservice.model.entities.Post;
 import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.model.enums.CountMode;
 import com.post.hub.iamservice.model.exception.DataExistException;
 import com.post.hub.iamservice.model.exception.NotFoundException;
 import com.post.hub.iamservice.model.request.post.NewPostRequest;
@@ -16,20 +24,40 @@ import com.post.hub.iamservice.model.response.IamResponse;
 import com.post.hub.iamservice.model.response.PaginationResponse;
 import com.post.hub.iamservice.repository.PostRepository;
 import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
 import com.post.hub.iamservice.repository.criteria.PostSearchCriteria;
+import com.post.hub.iamservice.repository.projection.KeysetPage;
+import com.post.hub.iamservice.repository.projection.PostSearchRow;
 import com.post.hub.iamservice.security.validation.AccessValidator;
+import com.post.hub.iamservice.service.PostLikeService;
 import com.post.hub.iamservice.service.PostService;
+import com.post.hub.iamservice.service.cache.ApproximateCounter;
+import com.post.hub.iamservice.service.cache.BatchCacheLoader;
+import com.post.hub.iamservice.service.index.PostSearchIndex;
+import com.post.hub.iamservice.service.index.PostTitleIndex;
+import com.post.hub.iamservice.service.index.TrendingPostIndex;
 import com.post.hub.iamservice.utils.ApiUtils;
+import com.post.hub.iamservice.utils.TransactionUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -40,9 +68,25 @@ public class PostServiceImpl implements PostService {
     private final AccessValidator accessValidator;
     private final ApiUtils apiUtils;
     private final KafkaMessageService kafkaMessageService;
+    private final ApproximateCounter approximateCounter;
+    private final PostSearchIndex postSearchIndex;
+    private final PostTitleIndex postTitleIndex;
+    private final PostLikeService postLikeService;
+    private final TrendingPostIndex trendingPostIndex;
+    private final BatchCacheLoader batchCacheLoader;
+
+    @Value("${post.search.fulltext.min.length:3}")
+    private int fullTextMinLength;
+
+    @Value("${post.autocomplete.max.limit:20}")
+    private int autocompleteMaxLimit;
+
+    @Value("${post.trending.max.limit:100}")
+    private int trendingMaxLimit;
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.POSTS, key = "#result.payload.id")
     public IamResponse<PostDTO> createPost(NewPostRequest postRequest) {
         if (postRepository.existsByTitle(postRequest.getTitle())) {
             throw new DataExistException(ApiErrorMessage.POST_ALREADY_EXISTS.getMessage(postRequest.getTitle()));
@@ -54,6 +98,7 @@ public class PostServiceImpl implements PostService {
 
         Post post = postMapper.createPost(postRequest, user, user.getUsername());
         post = postRepository.save(post);
+        reindexAfterCommit(post);
 
         kafkaMessageService.sendPostCreatedMessage(user.getId(), post.getId());
 
@@ -62,6 +107,7 @@ public class PostServiceImpl implements PostService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.POSTS, key = "#postId")
     public IamResponse<PostDTO> updatePost(Integer postId, UpdatePostRequest request) {
         Post post = postRepository.findByIdAndDeletedFalse(postId)
                 .orElseThrow(() -> new NotFoundException(ApiErrorMessage.POST_NOT_FOUND_BY_ID.getMessage(postId)));
@@ -75,6 +121,8 @@ public class PostServiceImpl implements PostService {
         postMapper.updatePost(post, request);
         post.setUpdated(LocalDateTime.now());
         post = postRepository.save(post);
+        reindexAfterCommit(post);
+        purgeAfterCommit(post, ActionType.UPDATE);
 
         PostDTO postDto = postMapper.toDTO(post);
 
@@ -85,8 +133,9 @@ public class PostServiceImpl implements PostService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.POSTS, key = "#postId", sync = true)
     public IamResponse<PostDTO> getById(Integer postId) {
-        Post post = postRepository.findByIdAndDeletedFalse(postId)
+        Post post = postRepository.findDetailByIdAndDeletedFalse(postId)
                 .orElseThrow(() -> new NotFoundException(ApiErrorMessage.POST_NOT_FOUND_BY_ID.getMessage(postId)));
 
         PostDTO postDTO = postMapper.toDTO(post);
@@ -94,6 +143,16 @@ public class PostServiceImpl implements PostService {
         return IamResponse.createSuccessful(postDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PostBatchDTO> getByIds(List<Integer> postIds) {
+        Map<Integer, PostDTO> posts = batchCacheLoader.getAll(CacheNames.POSTS, postIds,
+                misses -> postRepository.findAllByIdInAndDeletedFalse(misses).stream()
+                        .collect(Collectors.toMap(Post::getId, postMapper::toDTO)));
+
+        return IamResponse.createSuccessful(new PostBatchDTO(posts));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public IamResponse<PaginationResponse<PostSearchDTO>> findAllPosts(Pageable pageable) {
@@ -113,12 +172,33 @@ public class PostServiceImpl implements PostService {
         return IamResponse.createSuccessful(paginationResponse);
     }
 
+    @Override
+    public IamResponse<PostAutocompleteDTO> suggestTitles(String prefix, int limit) {
+        List<PostTitleSuggestionDTO> suggestions = postTitleIndex.suggest(prefix, Math.min(limit, autocompleteMaxLimit)).stream()
+                .map(entry -> new PostTitleSuggestionDTO(entry.id(), entry.title(), entry.likes()))
+                .toList();
+
+        return IamResponse.createSuccessful(new PostAutocompleteDTO(prefix, suggestions));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PostTrendingDTO> findTrendingPosts(int limit) {
+        List<PostSearchDTO> posts = postRepository.findRowsByIds(trendingPostIndex.top(Math.min(limit, trendingMaxLimit))).stream()
+                .map(postMapper::toPostSearchDTO)
+                .toList();
+
+        return IamResponse.createSuccessful(new PostTrendingDTO(posts));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public IamResponse<PaginationResponse<PostSearchDTO>> searchPosts(PostSearchRequest request, Pageable pageable) {
-        Specification<Post> specification = new PostSearchCriteria(request);
-        Page<PostSearchDTO> posts = postRepository.findAll(specification, pageable)
-                .map(postMapper::toPostSearchDTO);
+        Page<PostSearchDTO> posts = isRankedSearch(request)
+                ? postRepository.searchRanked(request, pageable).map(postMapper::toPostSearchDTO)
+                : searchIndex(request, pageable)
+                        .orElseGet(() -> postRepository.searchRows(new PostSearchCriteria(request), pageable)
+                                .map(postMapper::toPostSearchDTO));
 
         PaginationResponse<PostSearchDTO> response = PaginationResponse.<PostSearchDTO>builder()
                 .content(posts.getContent())
@@ -135,8 +215,80 @@ public class PostServiceImpl implements PostService {
         return IamResponse.createSuccessful(response);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<PostSearchDTO>> findAllPosts(Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return findAllPosts(pageable);
+        }
+
+        Slice<PostSearchDTO> posts = postRepository.findAllBy(pageable)
+                .map(postMapper::toPostSearchDTO);
+        Long total = countMode == CountMode.APPROXIMATE
+                ? approximateCounter.count("posts", List.of(), postRepository::count)
+                : null;
+
+        return IamResponse.createSuccessful(PaginationResponse.slice(posts, total));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<PostSearchDTO>> searchPosts(PostSearchRequest request, Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT || isRankedSearch(request)) {
+            return searchPosts(request, pageable);
+        }
+
+        Specification<Post> specification = new PostSearchCriteria(request);
+        Slice<PostSearchDTO> posts = postRepository.searchRowSlice(specification, pageable)
+                .map(postMapper::toPostSearchDTO);
+        Long total = countMode == CountMode.APPROXIMATE
+                ? approximateCounter.count("posts", Arrays.asList(request.getTitle(), request.getContent(), request.getLikes(), request.getDeleted(), request.getKeyword()), () -> postRepository.countRows(specification))
+                : null;
+
+        return IamResponse.createSuccessful(PaginationResponse.slice(posts, total));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<PostSearchDTO>> findAllPostsAfter(String cursor, int limit) {
+        return searchPostsAfter(new PostSearchRequest(), cursor, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<PostSearchDTO>> searchPostsAfter(PostSearchRequest request, String cursor, int limit) {
+        KeysetPage<PostSearchRow> rows = postRepository.searchRowsAfter(new PostSearchCriteria(request), KeysetCursor.decode(cursor), limit);
+        List<PostSearchDTO> content = rows.content().stream()
+                .map(postMapper::toPostSearchDTO)
+                .collect(Collectors.toList());
+
+        String nextCursor = rows.hasNext() ? rows.nextCursor().encode() : null;
+        return IamResponse.createSuccessful(PaginationResponse.keyset(content, limit, nextCursor));
+    }
+
     @Override
     @Transactional
+    public IamResponse<PostLikeDTO> likePost(Integer postId) {
+        Integer likes = postRepository.findLikesByIdAndDeletedFalse(postId)
+                .orElseThrow(() -> new NotFoundException(ApiErrorMessage.POST_NOT_FOUND_BY_ID.getMessage(postId)));
+
+        boolean added = postRepository.insertLike(postId, apiUtils.getUserIdFromAuthentication());
+        return IamResponse.createSuccessful(likeResult(postId, true, likes, added ? 1 : 0));
+    }
+
+    @Override
+    @Transactional
+    public IamResponse<PostLikeDTO> unlikePost(Integer postId) {
+        Integer likes = postRepository.findLikesByIdAndDeletedFalse(postId)
+                .orElseThrow(() -> new NotFoundException(ApiErrorMessage.POST_NOT_FOUND_BY_ID.getMessage(postId)));
+
+        boolean removed = postRepository.deleteLike(postId, apiUtils.getUserIdFromAuthentication());
+        return IamResponse.createSuccessful(likeResult(postId, false, likes, removed ? -1 : 0));
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheNames.POSTS, key = "#postId")
     public void softDeletePost(Integer postId) {
         Post post = postRepository.findByIdAndDeletedFalse(postId)
                 .orElseThrow(() -> new NotFoundException(ApiErrorMessage.POST_NOT_FOUND_BY_ID.getMessage(postId)));
@@ -144,8 +296,53 @@ public class PostServiceImpl implements PostService {
         accessValidator.validateAdminOrOwnerAccess(post.getUser().getId());
 
         post.setDeleted(true);
+        post.setUpdated(LocalDateTime.now());
         postRepository.save(post);
+        reindexAfterCommit(post);
+        purgeAfterCommit(post, ActionType.DELETE);
 
         kafkaMessageService.sendPostDeletedMessage(post.getUser().getId(), post.getId());
     }
+
+    private Optional<Page<PostSearchDTO>> searchIndex(PostSearchRequest request, Pageable pageable) {
+        return postSearchIndex.search(request, pageable)
+                .map(ids -> new PageImpl<>(postRepository.findRowsByIds(ids.getContent()).stream()
+                        .map(postMapper::toPostSearchDTO)
+                        .toList(), pageable, ids.getTotalElements()));
+    }
+
+    private PostLikeDTO likeResult(Integer postId, boolean liked, Integer storedLikes, long delta) {
+        // posts.likes is never written here: the change is counted in memory and flushed in batches
+        long likes = storedLikes + postLikeService.pendingLikes(postId) + delta;
+        if (delta != 0) {
+            LocalDateTime likedAt = LocalDateTime.now();
+            TransactionUtils.afterCommit(() -> {
+                postLikeService.registerLikes(postId, delta);
+                trendingPostIndex.like(postId, delta, likedAt);
+            });
+        }
+        return new PostLikeDTO(postId, liked, likes);
+    }
+
+    private void reindexAfterCommit(Post post) {
+        TransactionUtils.afterCommit(() -> {
+            postSearchIndex.put(post);
+            postTitleIndex.put(post);
+            trendingPostIndex.put(post);
+        });
+    }
+
+    private boolean isRankedSearch(PostSearchRequest request) {
+        return Boolean.TRUE.equals(request.getRanked())
+                && Objects.nonNull(request.getKeyword())
+                && request.getKeyword().trim().length() >= fullTextMinLength;
+    }
+
+    // Edge caches must not be told to purge before the change is visible, or they refill with the old post
+    private void purgeAfterCommit(Post post, ActionType actionType) {
+        Integer userId = post.getUser().getId();
+        Integer postId = post.getId();
+        TransactionUtils.afterCommit(() -> kafkaMessageService.sendPostPurgeMessage(userId, postId, actionType));
+    }
+
 }
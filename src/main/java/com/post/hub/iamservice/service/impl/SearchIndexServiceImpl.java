@@ -0,0 +1,69 @@
+package com.post.hub.iamservice.service.impl;
+
+import com.post.hub.iamservice.model.constants.ApiLogMessage;
+import com.post.hub.iamservice.repository.CommentRepository;
+import com.post.hub.iamservice.repository.PostRepository;
+import com.post.hub.iamservice.repository.projection.CommentIndexEntry;
+import com.post.hub.iamservice.repository.projection.PostIndexEntry;
+import com.post.hub.iamservice.repository.projection.PostTitleEntry;
+import com.post.hub.iamservice.repository.projection.TrendingPostEntry;
+import com.post.hub.iamservice.service.SearchIndexService;
+import com.post.hub.iamservice.service.index.CommentSearchIndex;
+import com.post.hub.iamservice.service.index.PostSearchIndex;
+import com.post.hub.iamservice.service.index.PostTitleIndex;
+import com.post.hub.iamservice.service.index.TrendingPostIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchIndexServiceImpl implements SearchIndexService, SmartInitializingSingleton {
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final PostSearchIndex postSearchIndex;
+    private final CommentSearchIndex commentSearchIndex;
+    private final PostTitleIndex postTitleIndex;
+    private final TrendingPostIndex trendingPostIndex;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public void rebuildIndexes() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<PostTitleEntry> titles = postRepository.streamTitleEntries()) {
+                postTitleIndex.rebuild(titles);
+            }
+            LocalDateTime epoch = LocalDateTime.now();
+            try (Stream<TrendingPostEntry> trending = postRepository.streamTrendingEntries(epoch, trendingPostIndex.halfLife())) {
+                trendingPostIndex.rebuild(trending, epoch);
+            }
+            if (!postSearchIndex.isEnabled()) {
+                return;
+            }
+            try (Stream<PostIndexEntry> posts = postRepository.streamIndexEntries()) {
+                postSearchIndex.rebuild(posts);
+            }
+            try (Stream<CommentIndexEntry> comments = commentRepository.streamIndexEntries()) {
+                commentSearchIndex.rebuild(comments);
+            }
+        });
+
+        log.info(ApiLogMessage.SEARCH_INDEX_REBUILT.getValue(),
+                postTitleIndex.size(), trendingPostIndex.size(), postSearchIndex.size(), commentSearchIndex.size());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuildIndexes();
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.post.hub.iamservice.service.impl;
+
+import com.post.hub.iamservice.model.constants.ApiConstants;
+import com.post.hub.iamservice.model.constants.ApiLogMessage;
+import com.post.hub.iamservice.model.dto.user.UserAvailabilityDTO;
+import com.post.hub.iamservice.model.response.IamResponse;
+import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.service.UserAvailabilityService;
+import com.post.hub.iamservice.service.index.UserIdentityIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserAvailabilityServiceImpl implements UserAvailabilityService, SmartInitializingSingleton {
+    private final UserRepository userRepository;
+    private final UserIdentityIndex userIdentityIndex;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${user.availability.suggestions:5}")
+    private int suggestionsLimit;
+
+    @Override
+    public IamResponse<UserAvailabilityDTO> checkAvailability(String username, String email) {
+        UserAvailabilityDTO availability = new UserAvailabilityDTO();
+
+        if (username != null) {
+            boolean usernameTaken = userIdentityIndex.isUsernameTaken(username);
+            availability.setUsername(username);
+            availability.setUsernameAvailable(!usernameTaken);
+            if (usernameTaken) {
+                availability.setSuggestions(userIdentityIndex.suggestUsernames(
+                        username, suggestionsLimit, ApiConstants.USERNAME_MAX_LENGTH));
+            } else {
+                availability.setSuggestions(List.of());
+            }
+        }
+
+        if (email != null) {
+            availability.setEmail(email);
+            availability.setEmailAvailable(!userIdentityIndex.isEmailTaken(email));
+        }
+
+        return IamResponse.createSuccessful(availability);
+    }
+
+    @Override
+    @Scheduled(
+            initialDelayString = "${user.availability.index.refresh.interval:600000}",
+            fixedDelayString = "${user.availability.index.refresh.interval:600000}"
+    )
+    public void rebuildIndex() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> userIdentityIndex.rebuild(userRepository::streamAllIdentities));
+
+        log.debug(ApiLogMessage.USER_IDENTITY_INDEX_REBUILT.getValue(), userIdentityIndex.size());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuildIndex();
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.post.hub.iamservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.post.hub.iamservice.model.constants.ApiLogMessage;
+import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.service.UserExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserExportServiceImpl implements UserExportService {
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${user.export.page.size:5000}")
+    private int pageSize;
+
+    @Override
+    public void exportUsers(Integer afterId, OutputStream output) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.setRootValueSeparator(null);
+
+        long[] exported = {0};
+        Integer cursor = afterId;
+        try {
+            // Each page is its own short read-only transaction, so a long export never pins one snapshot
+            while (true) {
+                Integer lastId = userRepository.exportUsersAfter(cursor, pageSize, user -> {
+                    try {
+                        generator.writeObject(user);
+                        generator.writeRaw('\n');
+                        exported[0]++;
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                if (lastId == null) {
+                    break;
+                }
+                generator.flush();
+                cursor = lastId;
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+
+        generator.flush();
+        log.info(ApiLogMessage.USER_EXPORT_FINISHED.getValue(), exported[0], cursor);
+    }
+
+}
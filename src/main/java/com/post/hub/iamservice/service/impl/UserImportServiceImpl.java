@@ -0,0 +1,322 @@
+package com.post.hub.iamservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.post.hub.iamservice.kafka.service.KafkaMessageService;
+import com.post.hub.iamservice.mapper.UserMapper;
+import com.post.hub.iamservice.model.constants.ApiConstants;
+import com.post.hub.iamservice.model.constants.ApiErrorMessage;
+import com.post.hub.iamservice.model.constants.ApiLogMessage;
+import com.post.hub.iamservice.model.constants.CacheNames;
+import com.post.hub.iamservice.model.dto.user.UserImportResultDTO;
+import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.model.enums.UserImportStatus;
+import com.post.hub.iamservice.model.exception.InvalidDataException;
+import com.post.hub.iamservice.model.request.user.NewUserRequest;
+import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.service.UserImportService;
+import com.post.hub.iamservice.service.index.UserIdentityIndex;
+import com.post.hub.iamservice.service.model.IamServiceUserRole;
+import com.post.hub.iamservice.utils.CsvUtils;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(ApiConstants.TEXT_CSV_VALUE);
+    private static final List<String> CSV_COLUMNS = List.of("username", "password", "email");
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final UserIdentityIndex userIdentityIndex;
+    private final KafkaMessageService kafkaMessageService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ExecutorService passwordHashingExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache userCache;
+
+    @Value("${user.import.batch.size:500}")
+    private int batchSize;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 UserMapper userMapper,
+                                 PasswordEncoder passwordEncoder,
+                                 UserIdentityIndex userIdentityIndex,
+                                 KafkaMessageService kafkaMessageService,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 @Qualifier("passwordHashingExecutor") ExecutorService passwordHashingExecutor,
+                                 PlatformTransactionManager transactionManager,
+                                 CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.userIdentityIndex = userIdentityIndex;
+        this.kafkaMessageService = kafkaMessageService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userCache = cacheManager.getCache(CacheNames.USERS);
+    }
+
+    @Override
+    public void importUsers(InputStream input, MediaType contentType, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        int lineNumber = 0;
+
+        Function<String, NewUserRequest> parser;
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            parser = this::parseJsonLine;
+        } else if (TEXT_CSV.isCompatibleWith(contentType)) {
+            String header = reader.readLine();
+            lineNumber++;
+            try {
+                parser = csvParser(header);
+            } catch (InvalidDataException ex) {
+                writeResults(List.of(new UserImportResultDTO(
+                        lineNumber, null, UserImportStatus.INVALID, null, ex.getMessage())), output);
+                return;
+            }
+        } else {
+            throw new InvalidDataException(ApiErrorMessage.IMPORT_UNSUPPORTED_CONTENT_TYPE.getMessage(contentType));
+        }
+
+        List<ImportLine> chunk = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(new ImportLine(lineNumber, line));
+            if (chunk.size() == batchSize) {
+                writeResults(importChunk(chunk, parser, seenUsernames, seenEmails), output);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeResults(importChunk(chunk, parser, seenUsernames, seenEmails), output);
+        }
+    }
+
+    private List<UserImportResultDTO> importChunk(List<ImportLine> chunk,
+                                                  Function<String, NewUserRequest> parser,
+                                                  Set<String> seenUsernames,
+                                                  Set<String> seenEmails) {
+        List<UserImportResultDTO> results = new ArrayList<>(chunk.size());
+        List<ImportCandidate> candidates = new ArrayList<>(chunk.size());
+
+        for (ImportLine importLine : chunk) {
+            NewUserRequest request;
+            try {
+                request = parser.apply(importLine.content());
+            } catch (RuntimeException ex) {
+                results.add(new UserImportResultDTO(
+                        importLine.number(), null, UserImportStatus.INVALID, null, ex.getMessage()));
+                continue;
+            }
+
+            String violations = validate(request);
+            if (violations != null) {
+                results.add(new UserImportResultDTO(
+                        importLine.number(), request.getUsername(), UserImportStatus.INVALID, null, violations));
+            } else if (userIdentityIndex.isUsernameTaken(request.getUsername())) {
+                results.add(new UserImportResultDTO(importLine.number(), request.getUsername(), UserImportStatus.DUPLICATE,
+                        null, ApiErrorMessage.USERNAME_ALREADY_EXISTS.getMessage(request.getUsername())));
+            } else if (userIdentityIndex.isEmailTaken(request.getEmail())) {
+                results.add(new UserImportResultDTO(importLine.number(), request.getUsername(), UserImportStatus.DUPLICATE,
+                        null, ApiErrorMessage.EMAIL_ALREADY_EXISTS.getMessage(request.getEmail())));
+            } else if (seenUsernames.contains(request.getUsername()) || seenEmails.contains(request.getEmail())) {
+                results.add(new UserImportResultDTO(importLine.number(), request.getUsername(), UserImportStatus.DUPLICATE,
+                        null, ApiErrorMessage.IMPORT_DUPLICATE_IN_FILE.getMessage(request.getUsername(), request.getEmail())));
+            } else {
+                seenUsernames.add(request.getUsername());
+                seenEmails.add(request.getEmail());
+                candidates.add(new ImportCandidate(importLine.number(), request, hashPassword(request.getPassword())));
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            results.addAll(insertCandidates(candidates));
+        }
+
+        results.sort(Comparator.comparing(UserImportResultDTO::getLine));
+        return results;
+    }
+
+    private CompletableFuture<String> hashPassword(String password) {
+        try {
+            return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), passwordHashingExecutor);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private List<UserImportResultDTO> insertCandidates(List<ImportCandidate> candidates) {
+        List<UserImportResultDTO> results = new ArrayList<>(candidates.size());
+        List<ImportCandidate> hashed = new ArrayList<>(candidates.size());
+        List<User> users = new ArrayList<>(candidates.size());
+        for (ImportCandidate candidate : candidates) {
+            String passwordHash;
+            try {
+                passwordHash = candidate.passwordHash().join();
+            } catch (CompletionException ex) {
+                results.add(hashFailed(candidate, ex.getCause()));
+                continue;
+            }
+            User user = userMapper.createUser(candidate.request());
+            user.setPassword(passwordHash);
+            hashed.add(candidate);
+            users.add(user);
+        }
+        if (users.isEmpty()) {
+            return results;
+        }
+
+        String roleName = IamServiceUserRole.USER.getRole();
+        List<Integer> ids;
+        try {
+            ids = transactionTemplate.execute(status -> userRepository.batchInsertUsers(users, roleName));
+        } catch (RuntimeException ex) {
+            log.warn(ApiLogMessage.USER_IMPORT_BATCH_FALLBACK.getValue(), users.size(), ex.getMessage());
+            results.addAll(insertOneByOne(hashed, users, roleName));
+            return results;
+        }
+
+        for (int i = 0; i < hashed.size(); i++) {
+            results.add(toResult(hashed.get(i), users.get(i), ids.get(i)));
+        }
+        return results;
+    }
+
+    private UserImportResultDTO hashFailed(ImportCandidate candidate, Throwable cause) {
+        String username = candidate.request().getUsername();
+        // BCrypt rejects passwords over 72 bytes, which multibyte characters reach within the size limit
+        if (cause instanceof IllegalArgumentException) {
+            return new UserImportResultDTO(candidate.line(), username, UserImportStatus.INVALID, null,
+                    "password: " + cause.getMessage());
+        }
+        return new UserImportResultDTO(candidate.line(), username, UserImportStatus.FAILED, null,
+                ApiErrorMessage.IMPORT_USER_NOT_INSERTED.getMessage(cause.getMessage()));
+    }
+
+    private List<UserImportResultDTO> insertOneByOne(List<ImportCandidate> candidates, List<User> users, String roleName) {
+        List<UserImportResultDTO> results = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            ImportCandidate candidate = candidates.get(i);
+            User user = users.get(i);
+            try {
+                List<Integer> ids = transactionTemplate.execute(status ->
+                        userRepository.batchInsertUsers(List.of(user), roleName));
+                results.add(toResult(candidate, user, ids.get(0)));
+            } catch (RuntimeException ex) {
+                results.add(new UserImportResultDTO(candidate.line(), user.getUsername(), UserImportStatus.FAILED,
+                        null, ApiErrorMessage.IMPORT_USER_NOT_INSERTED.getMessage(ex.getMessage())));
+            }
+        }
+        return results;
+    }
+
+    private UserImportResultDTO toResult(ImportCandidate candidate, User user, Integer userId) {
+        if (userId == null) {
+            return new UserImportResultDTO(candidate.line(), user.getUsername(), UserImportStatus.DUPLICATE, null,
+                    ApiErrorMessage.USER_ALREADY_EXISTS.getMessage(user.getUsername(), user.getEmail()));
+        }
+
+        userIdentityIndex.add(user.getUsername(), user.getEmail());
+        // the id may have been probed before it existed
+        userCache.evict(userId);
+        kafkaMessageService.sendUserCreatedMessage(userId, user.getUsername());
+        return new UserImportResultDTO(candidate.line(), user.getUsername(), UserImportStatus.CREATED, userId, null);
+    }
+
+    private NewUserRequest parseJsonLine(String line) {
+        try {
+            return objectMapper.readValue(line, NewUserRequest.class);
+        } catch (JsonProcessingException ex) {
+            throw new InvalidDataException(ApiErrorMessage.IMPORT_LINE_NOT_PARSED.getMessage(ex.getOriginalMessage()));
+        }
+    }
+
+    private Function<String, NewUserRequest> csvParser(String header) {
+        List<String> columns = header == null ? List.of() : CsvUtils.parseLine(header).stream()
+                .map(column -> column.trim().toLowerCase())
+                .toList();
+        if (!columns.containsAll(CSV_COLUMNS)) {
+            throw new InvalidDataException(ApiErrorMessage.CSV_INVALID_HEADER.getMessage(String.join(", ", CSV_COLUMNS)));
+        }
+
+        int usernameIndex = columns.indexOf("username");
+        int passwordIndex = columns.indexOf("password");
+        int emailIndex = columns.indexOf("email");
+
+        return line -> {
+            List<String> fields = CsvUtils.parseLine(line);
+            if (fields.size() != columns.size()) {
+                throw new InvalidDataException(ApiErrorMessage.IMPORT_LINE_NOT_PARSED.getMessage(
+                        "expected " + columns.size() + " columns but found " + fields.size()));
+            }
+            return new NewUserRequest(fields.get(usernameIndex), fields.get(passwordIndex), fields.get(emailIndex));
+        };
+    }
+
+    private String validate(NewUserRequest request) {
+        Set<ConstraintViolation<NewUserRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void writeResults(List<UserImportResultDTO> results, OutputStream output) throws IOException {
+        for (UserImportResultDTO result : results) {
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write('\n');
+        }
+        output.flush();
+    }
+
+    private record ImportLine(int number, String content) {
+    }
+
+    private record ImportCandidate(int line, NewUserRequest request, CompletableFuture<String> passwordHash) {
+    }
+
+}
@@ -3,11 +3,20 @@ package com.post.hub.iamservice.service.impl;
 import com.post.hub.iamservice.kafka.service.KafkaMessageService;
 import com.post.hub.iamservice.mapper.UserMapper;
 import com.post.hub.iamservice.model.constants.ApiErrorMessage;
+import com.post.hub.iamservice.model.constants.CacheNames;
+import com.post.hub.iamservice.model.dto.role.RoleDTO;
+import com.post.hub.iamservice.model.dto.user.UserBatchDTO;
 import com.post.hub.iamservice.model.dto.user.UserDTO;
 import com.post.hub.iamservice.model.dto.user.UserSearchDTO;
 import com.post.hub.iamservice.model.entities.Role;
 import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.model.enums.CountMode;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+import com.post.hub.iamservice.repository.projection.KeysetPage;
+import com.post.hub.iamservice.repository.projection.UserSearchRow;
 import com.post.hub.iamservice.security.validation.AccessValidator;
+import com.post.hub.iamservice.service.cache.ApproximateCounter;
+import com.post.hub.iamservice.service.cache.BatchCacheLoader;
 import com.post.hub.iamservice.service.model.IamServiceUserRole;
 import com.post.hub.iamservice.model.exception.DataExistException;
 import com.post.hub.iamservice.model.exception.NotFoundException;
@@ -19,10 +28,18 @@ import com.post.hub.iamservice.model.response.PaginationResponse;
 import com.post.hub.iamservice.repository.RoleRepository;
 import com.post.hub.iamservice.repository.UserRepository;
 import com.post.hub.iamservice.repository.criteria.UserSearchCriteria;
+import com.post.hub.iamservice.repository.projection.UserRoleRow;
+import com.post.hub.iamservice.service.LastLoginService;
 import com.post.hub.iamservice.service.UserService;
+import com.post.hub.iamservice.service.index.UserIdentityIndex;
+import com.post.hub.iamservice.utils.SearchUtils;
+import com.post.hub.iamservice.utils.TransactionUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -32,7 +49,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -46,9 +67,14 @@ public class UserServiceImpl implements UserService {
     private final RoleRepository roleRepository;
     private final AccessValidator accessValidator;
     private final KafkaMessageService kafkaMessageService;
+    private final LastLoginService lastLoginService;
+    private final UserIdentityIndex userIdentityIndex;
+    private final ApproximateCounter approximateCounter;
+    private final BatchCacheLoader batchCacheLoader;
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.USERS, key = "#result.payload.id")
     public IamResponse<UserDTO> createUser(NewUserRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new DataExistException(ApiErrorMessage.USERNAME_ALREADY_EXISTS.getMessage(request.getUsername()));
@@ -70,6 +96,7 @@ public class UserServiceImpl implements UserService {
 
         User savedUser = userRepository.save(user);
         UserDTO userDTO = userMapper.toDTO(savedUser);
+        TransactionUtils.afterCommit(() -> userIdentityIndex.add(savedUser.getUsername(), savedUser.getEmail()));
 
         kafkaMessageService.sendUserCreatedMessage(savedUser.getId(), savedUser.getUsername());
 
@@ -78,6 +105,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.USERS, key = "#userId")
     public IamResponse<UserDTO> updateUser(Integer userId, UpdateUserRequest request) {
         User user = userRepository.findByIdAndDeletedFalse(userId)
                 .orElseThrow(() -> new NotFoundException(ApiErrorMessage.USER_NOT_FOUND_BY_ID.getMessage(userId)));
@@ -94,10 +122,16 @@ public class UserServiceImpl implements UserService {
             throw new DataExistException(ApiErrorMessage.EMAIL_ALREADY_EXISTS.getMessage(request.getEmail()));
         }
 
+        String oldUsername = user.getUsername();
+        String oldEmail = user.getEmail();
         userMapper.updateUser(user, request);
         user.setUpdated(LocalDateTime.now());
         user = userRepository.save(user);
 
+        String newUsername = user.getUsername();
+        String newEmail = user.getEmail();
+        TransactionUtils.afterCommit(() -> userIdentityIndex.replace(oldUsername, oldEmail, newUsername, newEmail));
+
         UserDTO userDTO = userMapper.toDTO(user);
 
         kafkaMessageService.sendUserUpdatedMessage(user.getId(), user.getUsername());
@@ -107,6 +141,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.USERS, key = "#userId", sync = true)
     public IamResponse<UserDTO> getById(Integer userId) {
         User user = userRepository.findByIdAndDeletedFalse(userId)
                 .orElseThrow(() -> new NotFoundException(ApiErrorMessage.USER_NOT_FOUND_BY_ID.getMessage(userId)));
@@ -115,6 +150,16 @@ public class UserServiceImpl implements UserService {
         return IamResponse.createSuccessful(userDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<UserBatchDTO> getByIds(List<Integer> userIds) {
+        Map<Integer, UserDTO> users = batchCacheLoader.getAll(CacheNames.USERS, userIds,
+                misses -> userRepository.findAllByIdInAndDeletedFalse(misses).stream()
+                        .collect(Collectors.toMap(User::getId, userMapper::toDTO)));
+
+        return IamResponse.createSuccessful(new UserBatchDTO(users));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public IamResponse<PaginationResponse<UserSearchDTO>> findAllUsers(Pageable pageable) {
@@ -139,8 +184,9 @@ public class UserServiceImpl implements UserService {
     public IamResponse<PaginationResponse<UserSearchDTO>> searchUsers(UserSearchRequest request, Pageable pageable) {
         Specification<User> specification = new UserSearchCriteria(request);
 
-        Page<UserSearchDTO> usersPage = userRepository.findAll(specification, pageable)
+        Page<UserSearchDTO> usersPage = userRepository.searchRows(specification, pageable)
                 .map(userMapper::toUserSearchDto);
+        attachRoles(usersPage.getContent());
 
         PaginationResponse<UserSearchDTO> response = PaginationResponse.<UserSearchDTO>builder()
                 .content(usersPage.getContent())
@@ -157,8 +203,62 @@ public class UserServiceImpl implements UserService {
         return IamResponse.createSuccessful(response);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<UserSearchDTO>> findAllUsers(Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return findAllUsers(pageable);
+        }
+
+        Slice<UserSearchDTO> users = userRepository.findAllBy(pageable)
+                .map(userMapper::toUserSearchDto);
+        Long total = countMode == CountMode.APPROXIMATE
+                ? approximateCounter.count("users", List.of(), userRepository::count)
+                : null;
+
+        return IamResponse.createSuccessful(PaginationResponse.slice(users, total));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<UserSearchDTO>> searchUsers(UserSearchRequest request, Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return searchUsers(request, pageable);
+        }
+
+        Specification<User> specification = new UserSearchCriteria(request);
+        Slice<UserSearchDTO> users = userRepository.searchRowSlice(specification, pageable)
+                .map(userMapper::toUserSearchDto);
+        attachRoles(users.getContent());
+        Long total = countMode == CountMode.APPROXIMATE
+                ? approximateCounter.count("users", Arrays.asList(normalize(request.getUsername()), normalize(request.getEmail()), request.getDeleted(), normalize(request.getKeyword())), () -> userRepository.countRows(specification))
+                : null;
+
+        return IamResponse.createSuccessful(PaginationResponse.slice(users, total));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<UserSearchDTO>> findAllUsersAfter(String cursor, int limit) {
+        return searchUsersAfter(new UserSearchRequest(), cursor, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IamResponse<PaginationResponse<UserSearchDTO>> searchUsersAfter(UserSearchRequest request, String cursor, int limit) {
+        KeysetPage<UserSearchRow> rows = userRepository.searchRowsAfter(new UserSearchCriteria(request), KeysetCursor.decode(cursor), limit);
+        List<UserSearchDTO> content = rows.content().stream()
+                .map(userMapper::toUserSearchDto)
+                .collect(Collectors.toList());
+        attachRoles(content);
+
+        String nextCursor = rows.hasNext() ? rows.nextCursor().encode() : null;
+        return IamResponse.createSuccessful(PaginationResponse.keyset(content, limit, nextCursor));
+    }
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.USERS, key = "#userId")
     public void softDeleteUser(Integer userId) {
         User user = userRepository.findByIdAndDeletedFalse(userId)
                 .orElseThrow(() -> new NotFoundException(ApiErrorMessage.USER_NOT_FOUND_BY_ID.getMessage(userId)));
@@ -166,6 +266,7 @@ public class UserServiceImpl implements UserService {
         accessValidator.validateAdminOrOwnerAccess(userId);
 
         user.setDeleted(true);
+        user.setUpdated(LocalDateTime.now());
         userRepository.save(user);
 
         kafkaMessageService.sendUserDeletedMessage(userId, user.getUsername());
@@ -173,15 +274,10 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return getUserDetails(email, userRepository);
-    }
-
-    static UserDetails getUserDetails(String email, UserRepository userRepository) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException(ApiErrorMessage.EMAIL_NOT_FOUND.getMessage(email)));
 
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        lastLoginService.registerLogin(user.getId(), LocalDateTime.now());
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPassword(),
@@ -191,4 +287,23 @@ public class UserServiceImpl implements UserService {
         );
     }
 
+    // the LIKE pattern the criteria runs, so "Ann" and " ann" share one cached count
+    private static String normalize(String value) {
+        return Objects.isNull(value) ? null : SearchUtils.containsPattern(value);
+    }
+
+    private void attachRoles(List<UserSearchDTO> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, List<RoleDTO>> rolesByUserId = userRepository.findRolesByUserIds(
+                        users.stream().map(UserSearchDTO::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(UserRoleRow::userId,
+                        Collectors.mapping(row -> new RoleDTO(row.roleId(), row.roleName()), Collectors.toList())));
+
+        users.forEach(user -> user.setRoles(rolesByUserId.getOrDefault(user.getId(), new ArrayList<>())));
+    }
+
 }
@@ -0,0 +1,80 @@
+package com.post.hub.iamservice.service.index;
+
+import com.post.hub.iamservice.model.entities.Comment;
+import com.post.hub.iamservice.model.enums.SearchEngine;
+import com.post.hub.iamservice.model.request.comment.CommentSearchRequest;
+import com.post.hub.iamservice.repository.projection.CommentIndexEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Word index over comment messages and authors, used by comment search when {@code search.engine=INDEX}.
+ * Requests it cannot answer (post filter, explicit sort, no searchable word) stay on the SQL path.
+ */
+@Component
+public class CommentSearchIndex {
+
+    private final boolean enabled;
+    private volatile TextIndex index = new TextIndex();
+
+    public CommentSearchIndex(@Value("${search.engine:SQL}") SearchEngine searchEngine) {
+        this.enabled = searchEngine == SearchEngine.INDEX;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void rebuild(Stream<CommentIndexEntry> comments) {
+        TextIndex newIndex = new TextIndex();
+        comments.forEach(comment -> newIndex.put(comment.id(), fields(comment.message(), comment.createdBy()), comment.deleted()));
+        index = newIndex;
+    }
+
+    public void put(Comment comment) {
+        if (enabled) {
+            index.put(comment.getId(), fields(comment.getMessage(), comment.getCreatedBy()), comment.getDeleted());
+        }
+    }
+
+    public Optional<Page<Integer>> search(CommentSearchRequest request, Pageable pageable) {
+        if (!enabled || Objects.nonNull(request.getPostId()) || Objects.nonNull(request.getSortField())) {
+            return Optional.empty();
+        }
+
+        List<TextIndex.Clause> clauses = new ArrayList<>();
+        addClause(clauses, Set.of(Comment.MESSAGE_NAME_FIELD), request.getMessage());
+        addClause(clauses, Set.of(Comment.CREATED_BY_FIELD), request.getCreatedBy());
+        addClause(clauses, Set.of(Comment.MESSAGE_NAME_FIELD, Comment.CREATED_BY_FIELD), request.getKeyword());
+        if (clauses.isEmpty() || clauses.stream().anyMatch(clause -> TextIndex.words(clause.text()).isEmpty())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(index.search(clauses, request.getDeleted(), pageable));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private static void addClause(List<TextIndex.Clause> clauses, Set<String> fields, String text) {
+        if (Objects.nonNull(text)) {
+            clauses.add(new TextIndex.Clause(fields, text));
+        }
+    }
+
+    private static Map<String, String> fields(String message, String createdBy) {
+        return Map.of(Comment.MESSAGE_NAME_FIELD, message, Comment.CREATED_BY_FIELD, createdBy);
+    }
+
+}
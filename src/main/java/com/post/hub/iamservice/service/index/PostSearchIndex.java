@@ -0,0 +1,80 @@
+package com.post.hub.iamservice.service.index;
+
+import com.post.hub.iamservice.model.entities.Post;
+import com.post.hub.iamservice.model.enums.SearchEngine;
+import com.post.hub.iamservice.model.request.post.PostSearchRequest;
+import com.post.hub.iamservice.repository.projection.PostIndexEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Word index over post titles and contents, used by post search when {@code search.engine=INDEX}.
+ * Requests it cannot answer (likes filter, explicit sort, no searchable word) stay on the SQL path.
+ */
+@Component
+public class PostSearchIndex {
+
+    private final boolean enabled;
+    private volatile TextIndex index = new TextIndex();
+
+    public PostSearchIndex(@Value("${search.engine:SQL}") SearchEngine searchEngine) {
+        this.enabled = searchEngine == SearchEngine.INDEX;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void rebuild(Stream<PostIndexEntry> posts) {
+        TextIndex newIndex = new TextIndex();
+        posts.forEach(post -> newIndex.put(post.id(), fields(post.title(), post.content()), post.deleted()));
+        index = newIndex;
+    }
+
+    public void put(Post post) {
+        if (enabled) {
+            index.put(post.getId(), fields(post.getTitle(), post.getContent()), post.getDeleted());
+        }
+    }
+
+    public Optional<Page<Integer>> search(PostSearchRequest request, Pageable pageable) {
+        if (!enabled || Objects.nonNull(request.getLikes()) || Objects.nonNull(request.getSortField())) {
+            return Optional.empty();
+        }
+
+        List<TextIndex.Clause> clauses = new ArrayList<>();
+        addClause(clauses, Set.of(Post.TITLE_NAME_FIELD), request.getTitle());
+        addClause(clauses, Set.of(Post.CONTENT_NAME_FIELD), request.getContent());
+        addClause(clauses, Set.of(Post.TITLE_NAME_FIELD, Post.CONTENT_NAME_FIELD), request.getKeyword());
+        if (clauses.isEmpty() || clauses.stream().anyMatch(clause -> TextIndex.words(clause.text()).isEmpty())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(index.search(clauses, request.getDeleted(), pageable));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private static void addClause(List<TextIndex.Clause> clauses, Set<String> fields, String text) {
+        if (Objects.nonNull(text)) {
+            clauses.add(new TextIndex.Clause(fields, text));
+        }
+    }
+
+    private static Map<String, String> fields(String title, String content) {
+        return Map.of(Post.TITLE_NAME_FIELD, title, Post.CONTENT_NAME_FIELD, content);
+    }
+
+}
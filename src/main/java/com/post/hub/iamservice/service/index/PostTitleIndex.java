@@ -0,0 +1,263 @@
+package com.post.hub.iamservice.service.index;
+
+import com.post.hub.iamservice.model.entities.Post;
+import com.post.hub.iamservice.repository.projection.PostTitleEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Title autocomplete over live posts. Titles sit in one sorted, front-coded byte array (every entry stores only
+ * the suffix it does not share with its predecessor), so a million titles cost roughly their compressed bytes
+ * plus three ints each. Writes land in a small overlay that is folded into a new array once it grows past
+ * {@code post.autocomplete.merge.threshold}.
+ */
+@Component
+public class PostTitleIndex {
+    private static final Comparator<PostTitleEntry> RANK = Comparator.comparing(PostTitleEntry::likes)
+            .reversed()
+            .thenComparing(PostTitleEntry::title);
+
+    private final int mergeThreshold;
+    private volatile FrontCodedTitles titles = FrontCodedTitles.of(List.of());
+    // a null title marks a post that left the index since the last merge
+    private final Map<Integer, PostTitleEntry> overlay = new ConcurrentHashMap<>();
+
+    public PostTitleIndex(@Value("${post.autocomplete.merge.threshold:1024}") int mergeThreshold) {
+        this.mergeThreshold = mergeThreshold;
+    }
+
+    public synchronized void rebuild(Stream<PostTitleEntry> posts) {
+        titles = FrontCodedTitles.of(posts.toList());
+        overlay.clear();
+    }
+
+    public void put(Post post) {
+        if (Boolean.TRUE.equals(post.getDeleted())) {
+            remove(post.getId());
+        } else {
+            write(new PostTitleEntry(post.getId(), post.getTitle(), post.getLikes()));
+        }
+    }
+
+    public void remove(Integer id) {
+        write(new PostTitleEntry(id, null, 0));
+    }
+
+    /**
+     * Applies flushed like totals. An entry with a null title is a deleted post and is skipped; a post written
+     * since the flush read its row keeps the title (or removal) of that newer write.
+     */
+    public synchronized void updateLikes(List<PostTitleEntry> entries) {
+        for (PostTitleEntry entry : entries) {
+            PostTitleEntry current = overlay.get(entry.id());
+            if (current != null) {
+                if (current.title() != null) {
+                    write(new PostTitleEntry(entry.id(), current.title(), entry.likes()));
+                }
+            } else if (entry.title() != null) {
+                write(entry);
+            }
+        }
+    }
+
+    public List<PostTitleEntry> suggest(String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        // worst suggestion on top, so it is the one evicted when a better one arrives
+        PriorityQueue<PostTitleEntry> best = new PriorityQueue<>(limit + 1, RANK.reversed());
+
+        titles.forEachWithPrefix(key, entry -> {
+            if (!overlay.containsKey(entry.id())) {
+                offer(best, entry, limit);
+            }
+        });
+        overlay.values().stream()
+                .filter(entry -> entry.title() != null && entry.title().toLowerCase(Locale.ROOT).startsWith(key))
+                .forEach(entry -> offer(best, entry, limit));
+
+        List<PostTitleEntry> suggestions = new ArrayList<>(best);
+        suggestions.sort(RANK);
+        return suggestions;
+    }
+
+    public int size() {
+        return titles.size();
+    }
+
+    private synchronized void write(PostTitleEntry entry) {
+        overlay.put(entry.id(), entry);
+        if (overlay.size() >= mergeThreshold) {
+            List<PostTitleEntry> merged = new ArrayList<>(titles.size() + overlay.size());
+            titles.forEach(current -> {
+                if (!overlay.containsKey(current.id())) {
+                    merged.add(current);
+                }
+            });
+            overlay.values().stream()
+                    .filter(current -> current.title() != null)
+                    .forEach(merged::add);
+
+            titles = FrontCodedTitles.of(merged);
+            overlay.clear();
+        }
+    }
+
+    private static void offer(PriorityQueue<PostTitleEntry> best, PostTitleEntry entry, int limit) {
+        best.offer(entry);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    static final class FrontCodedTitles {
+        private static final int BLOCK_SIZE = 16;
+        private static final Comparator<PostTitleEntry> ORDER = Comparator
+                .comparing((PostTitleEntry entry) -> entry.title().toLowerCase(Locale.ROOT))
+                .thenComparing(PostTitleEntry::title);
+
+        private final byte[] data;
+        // offset of every BLOCK_SIZE-th entry, which is stored in full
+        private final int[] blockOffsets;
+        private final int[] ids;
+        private final int[] likes;
+
+        private FrontCodedTitles(byte[] data, int[] blockOffsets, int[] ids, int[] likes) {
+            this.data = data;
+            this.blockOffsets = blockOffsets;
+            this.ids = ids;
+            this.likes = likes;
+        }
+
+        static FrontCodedTitles of(List<PostTitleEntry> entries) {
+            List<PostTitleEntry> sorted = new ArrayList<>(entries);
+            sorted.sort(ORDER);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int[] blockOffsets = new int[(sorted.size() + BLOCK_SIZE - 1) / BLOCK_SIZE];
+            int[] ids = new int[sorted.size()];
+            int[] likes = new int[sorted.size()];
+            String previous = "";
+            for (int i = 0; i < sorted.size(); i++) {
+                String title = sorted.get(i).title();
+                int shared = 0;
+                if (i % BLOCK_SIZE == 0) {
+                    blockOffsets[i / BLOCK_SIZE] = out.size();
+                } else {
+                    shared = sharedPrefix(previous, title);
+                }
+
+                byte[] suffix = title.substring(shared).getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, shared);
+                writeVarInt(out, suffix.length);
+                out.writeBytes(suffix);
+
+                ids[i] = sorted.get(i).id();
+                likes[i] = sorted.get(i).likes();
+                previous = title;
+            }
+            return new FrontCodedTitles(out.toByteArray(), blockOffsets, ids, likes);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        void forEach(Consumer<PostTitleEntry> action) {
+            scan(0, null, action);
+        }
+
+        void forEachWithPrefix(String key, Consumer<PostTitleEntry> action) {
+            // last block whose first title sorts before the key, matches can only start there or later
+            int low = 0;
+            int high = blockOffsets.length - 1;
+            int start = 0;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (headOf(middle).toLowerCase(Locale.ROOT).compareTo(key) < 0) {
+                    start = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            scan(start, key, action);
+        }
+
+        private void scan(int block, String key, Consumer<PostTitleEntry> action) {
+            StringBuilder title = new StringBuilder();
+            int position = blockOffsets.length == 0 ? data.length : blockOffsets[block];
+            for (int i = block * BLOCK_SIZE; i < ids.length; i++) {
+                int[] cursor = {position};
+                int shared = readVarInt(cursor);
+                int length = readVarInt(cursor);
+                title.setLength(shared);
+                title.append(new String(data, cursor[0], length, StandardCharsets.UTF_8));
+                position = cursor[0] + length;
+
+                String current = title.toString();
+                if (key != null) {
+                    String lower = current.toLowerCase(Locale.ROOT);
+                    if (!lower.startsWith(key)) {
+                        if (lower.compareTo(key) > 0) {
+                            return;
+                        }
+                        continue;
+                    }
+                }
+                action.accept(new PostTitleEntry(ids[i], current, likes[i]));
+            }
+        }
+
+        private String headOf(int block) {
+            int[] cursor = {blockOffsets[block]};
+            readVarInt(cursor);
+            int length = readVarInt(cursor);
+            return new String(data, cursor[0], length, StandardCharsets.UTF_8);
+        }
+
+        private static int sharedPrefix(String previous, String title) {
+            int max = Math.min(previous.length(), title.length());
+            int shared = 0;
+            while (shared < max && previous.charAt(shared) == title.charAt(shared)) {
+                shared++;
+            }
+            // never split a surrogate pair between the shared prefix and the stored suffix
+            if (shared > 0 && Character.isHighSurrogate(title.charAt(shared - 1))) {
+                shared--;
+            }
+            return shared;
+        }
+
+        private static void writeVarInt(ByteArrayOutputStream out, int value) {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+
+        private int readVarInt(int[] cursor) {
+            int value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[cursor[0]++];
+                value |= (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+    }
+
+}
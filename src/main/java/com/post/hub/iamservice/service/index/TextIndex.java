@@ -0,0 +1,126 @@
+package com.post.hub.iamservice.service.index;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the text fields of one table. Terms are lower-cased words keyed by field,
+ * a query word matches every indexed word it is a prefix of. Writers are serialized, readers never lock.
+ */
+public class TextIndex {
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, Set<Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Set<String>> documentTerms = new ConcurrentHashMap<>();
+    private final Set<Integer> deleted = ConcurrentHashMap.newKeySet();
+
+    public record Clause(Set<String> fields, String text) {
+    }
+
+    public static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    public synchronized void put(int id, Map<String, String> fields, boolean isDeleted) {
+        remove(id);
+
+        Set<String> terms = new HashSet<>();
+        fields.forEach((field, text) -> words(text).forEach(word -> terms.add(field + FIELD_SEPARATOR + word)));
+        terms.forEach(term -> postings.computeIfAbsent(term, ignored -> ConcurrentHashMap.newKeySet()).add(id));
+        documentTerms.put(id, terms);
+
+        if (isDeleted) {
+            deleted.add(id);
+        }
+    }
+
+    public synchronized void remove(int id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms != null) {
+            terms.forEach(term -> postings.computeIfPresent(term, (ignored, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            }));
+        }
+        deleted.remove(id);
+    }
+
+    public synchronized void markDeleted(int id) {
+        if (documentTerms.containsKey(id)) {
+            deleted.add(id);
+        }
+    }
+
+    /**
+     * Every word of every clause has to match one of the clause fields. Ids come back in descending order,
+     * the same order the SQL criteria use when no sort field is given.
+     */
+    public Page<Integer> search(List<Clause> clauses, Boolean deletedFilter, Pageable pageable) {
+        BitSet matches = null;
+        for (Clause clause : clauses) {
+            for (String word : words(clause.text())) {
+                BitSet wordMatches = new BitSet();
+                for (String field : clause.fields()) {
+                    String prefix = field + FIELD_SEPARATOR + word;
+                    NavigableMap<String, Set<Integer>> terms = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+                    terms.values().forEach(ids -> ids.forEach(wordMatches::set));
+                }
+
+                if (matches == null) {
+                    matches = wordMatches;
+                } else {
+                    matches.and(wordMatches);
+                }
+            }
+        }
+        if (matches == null) {
+            matches = new BitSet();
+        }
+
+        if (deletedFilter != null) {
+            BitSet deletedIds = new BitSet();
+            deleted.forEach(deletedIds::set);
+            if (deletedFilter) {
+                matches.and(deletedIds);
+            } else {
+                matches.andNot(deletedIds);
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>(pageable.getPageSize());
+        long skip = pageable.getOffset();
+        for (int id = matches.length() - 1; id >= 0 && ids.size() < pageable.getPageSize(); id = matches.previousSetBit(id - 1)) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                ids.add(id);
+            }
+        }
+        return new PageImpl<>(ids, pageable, matches.cardinality());
+    }
+
+    public int size() {
+        return documentTerms.size();
+    }
+
+}
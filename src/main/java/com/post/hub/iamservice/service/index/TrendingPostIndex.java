@@ -0,0 +1,130 @@
+package com.post.hub.iamservice.service.index;
+
+import com.post.hub.iamservice.model.entities.Post;
+import com.post.hub.iamservice.repository.projection.TrendingPostEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Live posts ordered by a time-decayed like score, so trending reads walk the head of a skip list instead of
+ * sorting the posts table. Scores use forward decay: an event at time t adds 2^((t - epoch) / halfLife) instead
+ * of every score shrinking as time passes, so each event only touches its own post. Once new weights grow past
+ * 2^64, all scores are scaled down together and the epoch moves forward, which keeps the order.
+ */
+@Component
+public class TrendingPostIndex {
+    private static final int RESCALE_EXPONENT = 64;
+    private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score)
+            .reversed()
+            .thenComparing(Ranked::id, Comparator.reverseOrder());
+
+    private final Duration halfLife;
+    private final double createdWeight;
+    private final Map<Integer, Ranked> scores = new ConcurrentHashMap<>();
+    private volatile ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>(ORDER);
+    private volatile LocalDateTime epoch = LocalDateTime.now();
+
+    public TrendingPostIndex(@Value("${post.trending.half.life:6h}") Duration halfLife,
+                             @Value("${post.trending.created.weight:1}") double createdWeight) {
+        this.halfLife = halfLife;
+        this.createdWeight = createdWeight;
+    }
+
+    public Duration halfLife() {
+        return halfLife;
+    }
+
+    /**
+     * @param epoch the time the recorded like weights of the entries are relative to
+     */
+    public synchronized void rebuild(Stream<TrendingPostEntry> posts, LocalDateTime epoch) {
+        this.epoch = epoch;
+        scores.clear();
+        posts.forEach(post -> {
+            long unrecordedLikes = Math.max(post.likes() - post.recordedLikes(), 0);
+            double score = (createdWeight + unrecordedLikes) * weight(post.created()) + post.recordedWeight();
+            scores.put(post.id(), new Ranked(post.id(), score));
+        });
+        reorder();
+    }
+
+    public synchronized void put(Post post) {
+        if (Boolean.TRUE.equals(post.getDeleted())) {
+            remove(post.getId());
+        } else if (!scores.containsKey(post.getId())) {
+            // later edits do not move a post, only likes do
+            move(post.getId(), (createdWeight + post.getLikes()) * weight(post.getCreated()));
+        }
+    }
+
+    public synchronized void like(Integer id, long delta, LocalDateTime at) {
+        // weight first: it may rescale every stored score, this one included
+        double weight = weight(at);
+        Ranked current = scores.get(id);
+        if (current != null) {
+            move(id, current.score() + delta * weight);
+        }
+    }
+
+    public synchronized void remove(Integer id) {
+        Ranked current = scores.remove(id);
+        if (current != null) {
+            ranking.remove(current);
+        }
+    }
+
+    public List<Integer> top(int limit) {
+        return ranking.stream()
+                .limit(limit)
+                .map(Ranked::id)
+                .toList();
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    private void move(Integer id, double score) {
+        Ranked previous = scores.put(id, new Ranked(id, score));
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        ranking.add(scores.get(id));
+    }
+
+    private double weight(LocalDateTime at) {
+        double exponent = (double) Duration.between(epoch, at).toMillis() / halfLife.toMillis();
+        if (exponent > RESCALE_EXPONENT) {
+            rescale((long) exponent);
+            exponent -= (long) exponent;
+        }
+        return Math.pow(2, exponent);
+    }
+
+    private void rescale(long halfLives) {
+        double factor = Math.pow(2, -halfLives);
+        epoch = epoch.plus(halfLife.multipliedBy(halfLives));
+        scores.replaceAll((id, ranked) -> new Ranked(id, ranked.score() * factor));
+        reorder();
+    }
+
+    private void reorder() {
+        // readers keep walking the old set until the new one is complete
+        ConcurrentSkipListSet<Ranked> reordered = new ConcurrentSkipListSet<>(ORDER);
+        reordered.addAll(scores.values());
+        ranking = reordered;
+    }
+
+    private record Ranked(Integer id, double score) {
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.post.hub.iamservice.service.index;
+
+import com.post.hub.iamservice.repository.projection.UserIdentity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of every username and email held by the users unique constraints.
+ * Soft-deleted users keep their rows, so their identities stay in the index as well.
+ */
+@Component
+public class UserIdentityIndex {
+
+    private final Object writeLock = new Object();
+
+    private volatile Identities identities = new Identities();
+    // Writes made while a rebuild reads its snapshot, replayed onto the new sets once they are swapped in
+    private List<Consumer<Identities>> writesDuringRebuild;
+
+    /**
+     * @param snapshot opens the query for every identity; it runs only once writes are being recorded, so a write
+     *                 that commits after the query took its snapshot is always replayed onto the rebuilt sets
+     */
+    public synchronized void rebuild(Supplier<Stream<UserIdentity>> snapshot) {
+        synchronized (writeLock) {
+            writesDuringRebuild = new ArrayList<>();
+        }
+
+        Identities rebuilt = new Identities();
+        try (Stream<UserIdentity> identities = snapshot.get()) {
+            identities.forEach(identity -> rebuilt.add(identity.username(), identity.email()));
+        } catch (RuntimeException ex) {
+            synchronized (writeLock) {
+                writesDuringRebuild = null;
+            }
+            throw ex;
+        }
+
+        synchronized (writeLock) {
+            // add and replace are idempotent, so a write the snapshot already holds is harmless to replay
+            writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+            writesDuringRebuild = null;
+            identities = rebuilt;
+        }
+    }
+
+    public boolean isUsernameTaken(String username) {
+        return identities.usernames.contains(username);
+    }
+
+    public boolean isEmailTaken(String email) {
+        return identities.emails.contains(email);
+    }
+
+    public void add(String username, String email) {
+        write(current -> current.add(username, email));
+    }
+
+    public void replace(String oldUsername, String oldEmail, String newUsername, String newEmail) {
+        write(current -> current.replace(oldUsername, oldEmail, newUsername, newEmail));
+    }
+
+    public List<String> suggestUsernames(String username, int limit, int maxLength) {
+        List<String> suggestions = new ArrayList<>(limit);
+        String base = username.length() > maxLength - 1 ? username.substring(0, maxLength - 1) : username;
+
+        // Every taken "base<suffix>" name lives in one contiguous range of the sorted set
+        NavigableSet<String> takenWithBase = identities.usernames.subSet(base, false, base + Character.MAX_VALUE, true);
+        for (int suffix = 1; suggestions.size() < limit; suffix++) {
+            String digits = String.valueOf(suffix);
+            if (base.length() + digits.length() > maxLength) {
+                break;
+            }
+            String candidate = base + digits;
+            if (!takenWithBase.contains(candidate)) {
+                suggestions.add(candidate);
+            }
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return identities.usernames.size();
+    }
+
+    private void write(Consumer<Identities> write) {
+        synchronized (writeLock) {
+            write.accept(identities);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(write);
+            }
+        }
+    }
+
+    private static final class Identities {
+        private final NavigableSet<String> usernames = new ConcurrentSkipListSet<>();
+        private final Set<String> emails = ConcurrentHashMap.newKeySet();
+
+        private void add(String username, String email) {
+            usernames.add(username);
+            if (email != null) {
+                emails.add(email);
+            }
+        }
+
+        private void replace(String oldUsername, String oldEmail, String newUsername, String newEmail) {
+            if (!Objects.equals(oldUsername, newUsername)) {
+                usernames.remove(oldUsername);
+                usernames.add(newUsername);
+            }
+            if (!Objects.equals(oldEmail, newEmail)) {
+                if (oldEmail != null) {
+                    emails.remove(oldEmail);
+                }
+                if (newEmail != null) {
+                    emails.add(newEmail);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.post.hub.iamservice.utils;
+
+import com.post.hub.iamservice.model.constants.ApiConstants;
+import com.post.hub.iamservice.model.response.IamResponse;
+import com.post.hub.iamservice.model.response.PaginationResponse;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class HttpCacheUtils {
+
+    public static final String POSTS_KEY = "posts";
+    private static final String POST_KEY_PREFIX = "post-";
+    private static final String PUBLIC_DIRECTIVE = "public";
+    private static final String SHARED_MAX_AGE_DIRECTIVE = "s-maxage";
+
+    public static String etag(Object id, LocalDateTime updated) {
+        return DigestUtils.md5DigestAsHex((id + ":" + updated).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Version of a list page: the ids and versions of its items in page order plus the pagination. It moves when an
+     * item on the page is edited, deleted, added or reordered, not when only a counter such as likes changes.
+     */
+    public static <T> String pageEtag(List<T> items, Function<? super T, ?> id,
+                                      Function<? super T, LocalDateTime> updated, Object pagination) {
+        StringBuilder version = new StringBuilder();
+        for (T item : items) {
+            version.append(id.apply(item)).append(':').append(updated.apply(item)).append(',');
+        }
+        version.append(pagination);
+        return DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static <T> String pageEtag(PaginationResponse<T> page, Function<? super T, ?> id,
+                                      Function<? super T, LocalDateTime> updated) {
+        return pageEtag(page.getContent(), id, updated, page.getPagination());
+    }
+
+    public static long lastModified(LocalDateTime updated) {
+        return updated.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static String postKey(Integer postId) {
+        return POST_KEY_PREFIX + postId;
+    }
+
+    /**
+     * A 200 carrying the entity version as ETag and Last-Modified. For GET requests whose If-None-Match or
+     * If-Modified-Since still match, Spring MVC turns it into an empty 304 before the body is written.
+     * The version is the updated column, which only content edits move: flushed counters (likes, last login,
+     * comment count) are not part of it, so a 304 may carry a counter that is up to a cache TTL old.
+     */
+    public static <P extends Serializable> ResponseEntity<IamResponse<P>> versioned(IamResponse<P> response,
+                                                                                  Object id, LocalDateTime updated) {
+        return versioned(response, id, updated, null, List.of());
+    }
+
+    public static <P extends Serializable> ResponseEntity<IamResponse<P>> versioned(IamResponse<P> response,
+                                                                                  Object id, LocalDateTime updated,
+                                                                                  String cacheControl,
+                                                                                  Collection<String> surrogateKeys) {
+        return shared(cacheControl, surrogateKeys)
+                .eTag(etag(id, updated))
+                .lastModified(lastModified(updated))
+                .body(response);
+    }
+
+    /**
+     * A 200 with the endpoint's Cache-Control policy (Spring Security leaves an explicit one alone). When the policy
+     * lets an edge cache keep the response, Surrogate-Key names what it depends on, so a purge by key drops it.
+     */
+    public static ResponseEntity.BodyBuilder shared(String cacheControl, Collection<String> surrogateKeys) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (StringUtils.hasText(cacheControl)) {
+            builder.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        if (isShared(cacheControl) && !surrogateKeys.isEmpty()) {
+            builder.header(ApiConstants.SURROGATE_KEY_HEADER, String.join(" ", surrogateKeys));
+        }
+        return builder;
+    }
+
+    // a shared cache does not store responses to authenticated requests unless the policy says so explicitly
+    private static boolean isShared(String cacheControl) {
+        return StringUtils.hasText(cacheControl)
+                && (cacheControl.contains(PUBLIC_DIRECTIVE) || cacheControl.contains(SHARED_MAX_AGE_DIRECTIVE));
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.post.hub.iamservice.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.Locale;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SearchUtils {
+
+    public static final char LIKE_ESCAPE = '\\';
+
+    // ts_headline delimiters: control characters that are stripped from the source text before highlighting
+    public static final char HIGHLIGHT_START = '\u0002';
+    public static final char HIGHLIGHT_STOP = '\u0003';
+
+    private static final String MARK_START = "<mark>";
+    private static final String MARK_STOP = "</mark>";
+
+    public static String containsPattern(String value) {
+        StringBuilder pattern = new StringBuilder(value.length() + 2).append('%');
+        for (char current : value.trim().toLowerCase(Locale.ROOT).toCharArray()) {
+            if (current == '%' || current == '_' || current == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(current);
+        }
+        return pattern.append('%').toString();
+    }
+
+    /**
+     * HTML-escapes a ts_headline fragment produced with the {@link #HIGHLIGHT_START}/{@link #HIGHLIGHT_STOP}
+     * delimiters, then turns only those delimiters into {@code <mark>} tags.
+     */
+    public static String highlight(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline)
+                .replace(String.valueOf(HIGHLIGHT_START), MARK_START)
+                .replace(String.valueOf(HIGHLIGHT_STOP), MARK_STOP);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.post.hub.iamservice.utils;
+
+import com.post.hub.iamservice.security.validation.TrimmedSizeValidator;
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Like {@code @Size(min)}, but counts the value after trimming, the way search values are matched.
+ * {@code null} is valid.
+ */
+@Constraint(validatedBy = TrimmedSizeValidator.class)
+@Target({ ElementType.FIELD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TrimmedSize {
+    int min() default 0;
+
+    String message() default "Value must be at least {min} characters long";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,11 @@
+-- Keyset pages sorted by created_by compare (created_by, id), which must never meet a NULL key.
+-- Older comments were stored without created_by, they take the author's email as new comments do.
+
+UPDATE comments c
+SET created_by = u.email
+FROM users u
+WHERE c.user_id = u.id
+  AND c.created_by IS NULL;
+
+ALTER TABLE comments
+    ALTER COLUMN created_by SET NOT NULL;
@@ -0,0 +1,5 @@
+-- Keyset pages compare (sort key, id), so every sortable column needs a composite index ending in id.
+-- posts.title, users.username and users.email are unique and already indexed. Content and message are too wide to index.
+
+CREATE INDEX IF NOT EXISTS idx_posts_likes_id ON posts (likes, id);
+CREATE INDEX IF NOT EXISTS idx_comments_created_by_id ON comments (created_by, id);
@@ -0,0 +1,19 @@
+-- Every supported (filter, sort) pair reads in index order, so a page never needs a full sort.
+--   posts:    sort id | title | likes | created, optionally filtered by likes = ?
+--   comments: sort id | created_by | created, optionally filtered by post_id = ?
+--   users:    sort id | username | email | created
+-- Boolean deleted filters are too unselective to lead an index and are applied while walking the sort index.
+-- Sorting by posts.content or comments.message is no longer offered: TEXT columns cannot be index-ordered cheaply.
+
+CREATE INDEX IF NOT EXISTS idx_posts_created_id ON posts (created, id);
+CREATE INDEX IF NOT EXISTS idx_posts_likes_title ON posts (likes, title);
+CREATE INDEX IF NOT EXISTS idx_posts_likes_created_id ON posts (likes, created, id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_created_id ON comments (created, id);
+CREATE INDEX IF NOT EXISTS idx_comments_post_id_id ON comments (post_id, id);
+CREATE INDEX IF NOT EXISTS idx_comments_post_id_created_by_id ON comments (post_id, created_by, id);
+CREATE INDEX IF NOT EXISTS idx_comments_post_id_created_id ON comments (post_id, created, id);
+-- (post_id, id) covers every lookup the single-column index served
+DROP INDEX IF EXISTS idx_comments_post_id;
+
+CREATE INDEX IF NOT EXISTS idx_users_created_id ON users (created, id);
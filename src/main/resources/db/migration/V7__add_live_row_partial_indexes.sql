@@ -0,0 +1,14 @@
+-- Live-row copies of the hot lookup and sort indexes. Soft-deleted rows are never purged, so
+-- "deleted = false" reads walk only live rows here however many deleted rows pile up.
+-- Queries must spell the predicate as a literal: a bound "deleted = ?" cannot use these under a generic plan.
+
+CREATE INDEX IF NOT EXISTS idx_posts_live_id ON posts (id) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_posts_live_created_id ON posts (created, id) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_posts_live_likes_id ON posts (likes, id) WHERE deleted = false;
+
+CREATE INDEX IF NOT EXISTS idx_comments_live_post_id_id ON comments (post_id, id) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_comments_live_post_id_created_id ON comments (post_id, created, id) WHERE deleted = false;
+
+CREATE INDEX IF NOT EXISTS idx_users_live_id ON users (id) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_users_live_created_id ON users (created, id) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_users_live_email ON users (email) WHERE deleted = false;
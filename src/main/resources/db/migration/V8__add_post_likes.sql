@@ -0,0 +1,15 @@
+-- One row per user and post, so liking twice or unliking a post that was never liked is a no-op.
+-- posts.likes stays the counter that reads and sorts use: it is moved by batched "likes = likes + delta"
+-- flushes of these changes instead of row-locking the post on every like.
+
+CREATE TABLE post_likes
+(
+    post_id BIGINT    NOT NULL,
+    user_id BIGINT    NOT NULL,
+    created TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (post_id, user_id),
+    FOREIGN KEY (post_id) REFERENCES posts (id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_post_likes_user_id ON post_likes (user_id);
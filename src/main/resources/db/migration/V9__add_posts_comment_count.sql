@@ -0,0 +1,10 @@
+-- Live comments per post, so post lists show "N comments" without an aggregate per row.
+-- Moved by relative "comment_count + delta" updates in the transaction that creates, moves or deletes the comment;
+-- the repair job recomputes it from comments in batches of posts.
+
+ALTER TABLE posts ADD COLUMN comment_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE posts p
+SET comment_count = c.live
+FROM (SELECT post_id, count(*) AS live FROM comments WHERE deleted = false GROUP BY post_id) c
+WHERE p.id = c.post_id;
@@ -0,0 +1,105 @@
+package com.post.hub.iamservice.integration.benchmark;
+
+import com.post.hub.iamservice.integration.BaseIntegrationTest;
+import com.post.hub.iamservice.model.enums.SearchEngine;
+import com.post.hub.iamservice.model.request.post.PostSearchRequest;
+import com.post.hub.iamservice.repository.PostRepository;
+import com.post.hub.iamservice.repository.criteria.PostSearchCriteria;
+import com.post.hub.iamservice.repository.projection.PostIndexEntry;
+import com.post.hub.iamservice.service.index.PostSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Opt-in: {@code mvn test -Dgroups=benchmark -Dbenchmark.posts=1000000}
+ */
+@Slf4j
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark.posts", matches = "\\d+")
+class PostSearchBenchmarkTest extends BaseIntegrationTest {
+    private static final String PREFIX = "bench_";
+    private static final int RUNS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema}")
+    private String schema;
+
+    private final PostSearchIndex postSearchIndex = new PostSearchIndex(SearchEngine.INDEX);
+
+    @BeforeAll
+    void seed() {
+        int rows = Integer.parseInt(System.getProperty("benchmark.posts"));
+        jdbcTemplate.update(
+                "INSERT INTO " + schema + ".posts (user_id, title, content, likes, deleted, created, updated) " +
+                        "SELECT 1, ? || g, 'word' || (g % 1000) || ' filler text number ' || md5(g::text), 0, false, now(), now() " +
+                        "FROM generate_series(1, ?) g",
+                PREFIX, rows
+        );
+        jdbcTemplate.execute("ANALYZE " + schema + ".posts");
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<PostIndexEntry> posts = postRepository.streamIndexEntries()) {
+                postSearchIndex.rebuild(posts);
+            }
+        });
+        log.info("Seeded and indexed {} posts for search benchmark", rows);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM " + schema + ".posts WHERE title LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void keywordSearch_latency_sqlVersusIndex() {
+        PostSearchRequest request = new PostSearchRequest();
+        request.setKeyword("word42");
+        Pageable pageable = PageRequest.of(0, 10);
+
+        report("SQL", () -> postRepository.searchRows(new PostSearchCriteria(request), pageable).getContent());
+        report("INDEX", () -> postRepository.findRowsByIds(postSearchIndex.search(request, pageable).orElseThrow().getContent()));
+    }
+
+    private void report(String engine, Supplier<?> search) {
+        long[] timings = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            Assertions.assertNotNull(search.get());
+            timings[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(timings);
+        log.info("{} keyword search over {} runs: p50={}us p95={}us p99={}us max={}us", engine, RUNS,
+                timings[RUNS / 2] / 1_000, timings[RUNS * 95 / 100] / 1_000, timings[RUNS * 99 / 100] / 1_000,
+                timings[RUNS - 1] / 1_000);
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.post.hub.iamservice.integration.benchmark;
+
+import com.post.hub.iamservice.integration.BaseIntegrationTest;
+import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.model.request.user.UserSearchRequest;
+import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.repository.criteria.UserSearchCriteria;
+import com.post.hub.iamservice.utils.SearchUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Opt-in: {@code mvn test -Dgroups=benchmark -Dbenchmark.users=2000000}
+ */
+@Slf4j
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark.users", matches = "\\d+")
+class UserSearchBenchmarkTest extends BaseIntegrationTest {
+    private static final String PREFIX = "bench_";
+    private static final int RUNS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema}")
+    private String schema;
+
+    @BeforeAll
+    void seed() {
+        int rows = Integer.parseInt(System.getProperty("benchmark.users"));
+        jdbcTemplate.update(
+                "INSERT INTO " + schema + ".users " +
+                        "(username, password, email, registration_status, deleted, created, updated) " +
+                        "SELECT ? || md5(g::text), 'x', ? || md5(g::text) || '@bench.io', 'ACTIVE', false, now(), now() " +
+                        "FROM generate_series(1, ?) g",
+                PREFIX, PREFIX, rows
+        );
+        jdbcTemplate.execute("ANALYZE " + schema + ".users");
+        log.info("Seeded {} users for search benchmark", rows);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM " + schema + ".users WHERE username LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void usernameSubstringSearch_usesTrigramIndex() {
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN (ANALYZE, BUFFERS) SELECT id FROM " + schema + ".users " +
+                        "WHERE lower(username) LIKE ? ESCAPE '\\' ORDER BY id LIMIT 10",
+                String.class,
+                SearchUtils.containsPattern("a1b2")
+        );
+        plan.forEach(log::info);
+
+        Assertions.assertTrue(plan.stream().anyMatch(line -> line.contains("idx_users_username_trgm")));
+    }
+
+    @Test
+    void keywordSearch_latency() {
+        UserSearchRequest request = new UserSearchRequest();
+        request.setKeyword("C0FFEE");
+
+        long[] timings = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            Page<User> page = userRepository.findAll(new UserSearchCriteria(request), PageRequest.of(0, 10));
+            timings[i] = System.nanoTime() - start;
+            Assertions.assertNotNull(page);
+        }
+
+        Arrays.sort(timings);
+        log.info("Keyword search over {} runs: p50={}ms p95={}ms max={}ms", RUNS,
+                timings[RUNS / 2] / 1_000_000, timings[RUNS * 95 / 100] / 1_000_000, timings[RUNS - 1] / 1_000_000);
+    }
+
+}
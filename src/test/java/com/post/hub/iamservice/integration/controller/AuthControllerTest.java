@@ -107,6 +107,20 @@ class AuthControllerTest extends BaseIntegrationTest {
                 .andExpect(MockMvcResultMatchers.status().isConflict());
     }
 
+    @Test
+    @Order(5)
+    void checkAvailability_WithoutAuthentication_OK_200() throws Exception {
+        mvc.perform(MockMvcRequestBuilders
+                        .get("/auth/availability")
+                        .param("username", "user")
+                        .param("email", "free-address@example.com")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.usernameAvailable").value(false))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.emailAvailable").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.suggestions").isNotEmpty());
+    }
+
     private IamResponse<?> parseResponse(MockHttpServletResponse response) throws IOException {
         return objectMapper.readValue(response.getContentAsByteArray(), IamResponse.class);
     }
@@ -15,7 +15,9 @@ import com.post.hub.iamservice.model.response.IamResponse;
 import com.post.hub.iamservice.model.response.PaginationResponse;
 import com.post.hub.iamservice.repository.UserRepository;
 import com.post.hub.iamservice.security.JwtTokenProvider;
+import com.post.hub.iamservice.service.PostLikeService;
 import lombok.Setter;
+import org.hamcrest.Matchers;
 import org.hibernate.Hibernate;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +32,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.util.List;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @AutoConfigureMockMvc
@@ -52,6 +55,10 @@ public class PostControllerTest extends BaseIntegrationTest {
     @Setter
     private UserRepository userRepository;
 
+    @Autowired
+    @Setter
+    private PostLikeService postLikeService;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
     private String currentJwt;
     private String invalidJwt;
@@ -85,6 +92,53 @@ public class PostControllerTest extends BaseIntegrationTest {
         Assertions.assertNotNull(response.getPayload().getContent());
     }
 
+    @Test
+    void getAllPosts_CursorMode_FollowsNextCursorWithoutTotal() throws Exception {
+        IamResponse<PaginationResponse<PostSearchDTO>> firstPage = getPostsPage("");
+        PaginationResponse.Pagination pagination = firstPage.getPayload().getPagination();
+
+        Assertions.assertEquals(1, firstPage.getPayload().getContent().size());
+        Assertions.assertNull(pagination.getTotal());
+        Assertions.assertTrue(pagination.getHasNext());
+        Assertions.assertNotNull(pagination.getNextCursor());
+
+        IamResponse<PaginationResponse<PostSearchDTO>> secondPage = getPostsPage(pagination.getNextCursor());
+
+        Assertions.assertTrue(secondPage.getPayload().getContent().get(0).getId()
+                < firstPage.getPayload().getContent().get(0).getId());
+    }
+
+    @Test
+    void getAllPosts_CursorMode_BadRequest_400_onInvalidCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/posts")
+                        .param("after", "not-a-cursor")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void getAllPosts_CursorMode_BadRequest_400_onLimitBelowOne() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/posts")
+                        .param("after", "")
+                        .param("limit", "0")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    private IamResponse<PaginationResponse<PostSearchDTO>> getPostsPage(String after) throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+                        .get("/posts")
+                        .param("after", after)
+                        .param("limit", "1")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        return parsePostSearchPageResponse(result.getResponse().getContentAsByteArray());
+    }
+
     @Test
     void getAllPosts_Unauthorized_401() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders
@@ -110,6 +164,109 @@ public class PostControllerTest extends BaseIntegrationTest {
         Assertions.assertEquals(EXISTING_POST_ID, response.getPayload().getId());
     }
 
+    @Test
+    void getPostById_200_OK_afterUpdateReturnsFreshPost() throws Exception {
+        String title = "Cached" + System.nanoTime();
+        MvcResult created = mockMvc.perform(MockMvcRequestBuilders.post("/posts")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new NewPostRequest(title, "content", 0))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        Integer postId = parsePostDTOResponse(created.getResponse().getContentAsByteArray()).getPayload().getId();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/{id}", postId)
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.title").value(title));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/posts/{id}", postId)
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new UpdatePostRequest(title + " edited", "content"))))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/{id}", postId)
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.title").value(title + " edited"));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/posts/{id}", postId)
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/{id}", postId)
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    void getPostById_304_NotModified_whenEtagMatches() throws Exception {
+        MvcResult first = mockMvc.perform(MockMvcRequestBuilders.get("/posts/{id}", EXISTING_POST_ID)
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/{id}", EXISTING_POST_ID)
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @Test
+    void getAllPosts_304_NotModified_whenPageEtagMatches() throws Exception {
+        MvcResult first = mockMvc.perform(MockMvcRequestBuilders.get("/posts")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @Test
+    void getPostById_200_OK_privateCacheHeaders() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/{id}", EXISTING_POST_ID)
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist("Surrogate-Key"));
+    }
+
+    @Test
+    void getPostsByIds_200_OK_missingIdsMapToNull() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/batch")
+                        .param("ids", EXISTING_POST_ID + ",999999")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.posts['" + EXISTING_POST_ID + "'].id").value(EXISTING_POST_ID))
+                .andExpect(MockMvcResultMatchers.content().string(Matchers.containsString("\"999999\":null")));
+    }
+
+    @Test
+    void getPostComments_200_OK_newestFirst() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/{id}/comments", EXISTING_POST_ID)
+                        .param("limit", "1")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.content[0].postId").value(EXISTING_POST_ID))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.content[0].owner.username").exists());
+    }
+
+    @Test
+    void getPostComments_404_postNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/{id}/comments", 999999)
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
     @Test
     void getPostById_Unauthorized_401() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders
@@ -183,7 +340,7 @@ public class PostControllerTest extends BaseIntegrationTest {
     @Test
     @Transactional
     void updatePost_200_OK() throws Exception {
-        UpdatePostRequest request = new UpdatePostRequest("Updated Title", "Updated content", 100);
+        UpdatePostRequest request = new UpdatePostRequest("Updated Title", "Updated content");
 
         mockMvc.perform(MockMvcRequestBuilders
                         .put("/posts/{id}", EXISTING_POST_ID)
@@ -197,7 +354,7 @@ public class PostControllerTest extends BaseIntegrationTest {
     @Test
     @Transactional
     void updatePost_InvalidToken_Unauthorized_401() throws Exception {
-        UpdatePostRequest request = new UpdatePostRequest("Try update", "Try", 1);
+        UpdatePostRequest request = new UpdatePostRequest("Try update", "Try");
 
         mockMvc.perform(MockMvcRequestBuilders
                         .put("/posts/{id}", EXISTING_POST_ID)
@@ -211,7 +368,7 @@ public class PostControllerTest extends BaseIntegrationTest {
     @Test
     @Transactional
     void updatePost_BadRequest_400_onInvalidPayload() throws Exception {
-        UpdatePostRequest invalid = new UpdatePostRequest("", " ", -1);
+        UpdatePostRequest invalid = new UpdatePostRequest("", " ");
 
         mockMvc.perform(MockMvcRequestBuilders
                         .put("/posts/{id}", EXISTING_POST_ID)
@@ -225,7 +382,7 @@ public class PostControllerTest extends BaseIntegrationTest {
     @Test
     @Transactional
     void updatePost_NotFound_404() throws Exception {
-        UpdatePostRequest request = new UpdatePostRequest("X", "Y", 1);
+        UpdatePostRequest request = new UpdatePostRequest("X", "Y");
 
         mockMvc.perform(MockMvcRequestBuilders
                         .put("/posts/{id}", MISSING_POST_ID)
@@ -310,6 +467,114 @@ public class PostControllerTest extends BaseIntegrationTest {
 
     }
 
+    @Test
+    void searchPosts_Ranked_200_OK_titleMatchFirstWithHighlights() throws Exception {
+        String word = "ranked" + System.nanoTime();
+        NewPostRequest inContent = new NewPostRequest("Content " + System.nanoTime(), "Body mentions " + word + " once", 1);
+        NewPostRequest inTitle = new NewPostRequest("Title " + word, "Body without it", 2);
+        for (NewPostRequest post : List.of(inContent, inTitle)) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/posts")
+                            .header(HttpHeaders.AUTHORIZATION, currentJwt)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsBytes(post)))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+
+        PostSearchRequest request = new PostSearchRequest();
+        request.setKeyword(word);
+        request.setRanked(true);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+                        .post("/posts/search")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+
+        List<PostSearchDTO> content = parsePostSearchPageResponse(result.getResponse().getContentAsByteArray())
+                .getPayload().getContent();
+
+        Assertions.assertEquals(2, content.size());
+        Assertions.assertEquals(inTitle.getTitle(), content.get(0).getTitle(), "title weight ranks first");
+        Assertions.assertTrue(content.get(0).getRank() > content.get(1).getRank());
+        Assertions.assertTrue(content.get(0).getTitleHighlight().contains("<mark>" + word + "</mark>"));
+    }
+
+    @Test
+    void autocompleteTitles_200_OK_returnsCreatedPost() throws Exception {
+        String prefix = "Autocomplete" + System.nanoTime();
+        mockMvc.perform(MockMvcRequestBuilders.post("/posts")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new NewPostRequest(prefix + " title", "content", 4))))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/autocomplete")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt)
+                        .param("prefix", prefix.toLowerCase())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.suggestions[0].title").value(prefix + " title"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.suggestions[0].likes").value(4));
+    }
+
+    @Test
+    void likePost_200_OK_isIdempotentAndFlushedAsDelta() throws Exception {
+        String title = "Liked" + System.nanoTime();
+        MvcResult created = mockMvc.perform(MockMvcRequestBuilders.post("/posts")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new NewPostRequest(title, "content", 4))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        Integer postId = parsePostDTOResponse(created.getResponse().getContentAsByteArray()).getPayload().getId();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/posts/{id}/like", postId)
+                            .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(MockMvcResultMatchers.jsonPath("$.payload.liked").value(true))
+                    .andExpect(MockMvcResultMatchers.jsonPath("$.payload.likes").value(5));
+        }
+
+        postLikeService.flush();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/{id}", postId)
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.likes").value(5));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/posts/{id}/like", postId)
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.liked").value(false))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.likes").value(4));
+    }
+
+    @Test
+    void getTrendingPosts_200_OK_includesNewlyLikedPost() throws Exception {
+        MvcResult created = mockMvc.perform(MockMvcRequestBuilders.post("/posts")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new NewPostRequest("Trending" + System.nanoTime(), "content", 0))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        Integer postId = parsePostDTOResponse(created.getResponse().getContentAsByteArray()).getPayload().getId();
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/posts/{id}/like", postId)
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/posts/trending")
+                        .header(HttpHeaders.AUTHORIZATION, currentJwt)
+                        .param("limit", "100")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.payload.posts[?(@.id == " + postId + ")]").exists());
+    }
+
     @Test
     void searchPosts_Unauthorized_401() throws Exception {
         PostSearchRequest request = new PostSearchRequest();
@@ -106,6 +106,48 @@ public class UserControllerTest extends BaseIntegrationTest {
         Assertions.assertEquals(request.getUsername(), resultBody.getUsername());
     }
 
+    @Test
+    void exportUsers_asAdmin_StreamsUsersOrderedById() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+                        .get("/users/export")
+                        .header(HttpHeaders.AUTHORIZATION, adminJwt)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        Assertions.assertTrue(lines.length >= 3);
+        Assertions.assertTrue(lines[0].contains("\"id\":1,"));
+        Assertions.assertTrue(lines[0].contains("\"roles\":[{"));
+    }
+
+    @Test
+    void importUsers_asAdmin_StreamsResultPerLine() throws Exception {
+        String body = """
+                {"username":"import_user_1","password":"password123","email":"import_user_1@gmail.com"}
+                {"username":"","password":"password123","email":"import_invalid@gmail.com"}
+                {"username":"user","password":"password123","email":"import_duplicate@gmail.com"}
+                """;
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+                        .post("/users/import")
+                        .header(HttpHeaders.AUTHORIZATION, adminJwt)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertTrue(lines[0].contains("\"status\":\"CREATED\""));
+        Assertions.assertTrue(lines[1].contains("\"status\":\"INVALID\""));
+        Assertions.assertTrue(lines[2].contains("\"status\":\"DUPLICATE\""));
+        Assertions.assertTrue(userRepository.existsByUsername("import_user_1"));
+    }
+
     @Test
     @Transactional
     void createUser_asUser_Unauthorized_401() throws Exception {
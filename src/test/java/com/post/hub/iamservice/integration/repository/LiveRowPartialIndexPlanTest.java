@@ -0,0 +1,88 @@
+package com.post.hub.iamservice.integration.repository;
+
+import com.post.hub.iamservice.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Live-row reads against tables that are mostly soft-deleted rows. Plans are forced generic, the way the
+ * driver runs a statement once it is server-side prepared.
+ */
+@Tag("integration")
+@Transactional
+class LiveRowPartialIndexPlanTest extends BaseIntegrationTest {
+    private static final int DELETED_ROWS = 5000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema}")
+    private String schema;
+
+    @BeforeEach
+    void seedDeletedRows() {
+        jdbcTemplate.update(
+                "INSERT INTO " + schema + ".users (username, password, email, registration_status, deleted, created, updated) " +
+                        "SELECT 'gone_' || g, 'x', 'gone_' || g || '@mail.com', 'ACTIVE', true, now(), now() " +
+                        "FROM generate_series(1, ?) g", DELETED_ROWS);
+        jdbcTemplate.update(
+                "INSERT INTO " + schema + ".posts (user_id, title, content, likes, deleted, created, updated) " +
+                        "SELECT 1, 'gone_' || g, 'x', 3, true, now(), now() FROM generate_series(1, ?) g", DELETED_ROWS);
+        jdbcTemplate.update(
+                "INSERT INTO " + schema + ".comments (post_id, user_id, message, deleted, created_by) " +
+                        "SELECT 1, 1, 'x', true, 'gone' FROM generate_series(1, ?) g", DELETED_ROWS);
+        jdbcTemplate.execute("ANALYZE " + schema + ".users");
+        jdbcTemplate.execute("ANALYZE " + schema + ".posts");
+        jdbcTemplate.execute("ANALYZE " + schema + ".comments");
+
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @ParameterizedTest(name = "{0} WHERE {1} ORDER BY {2}")
+    @CsvSource(delimiter = '|', value = {
+            "posts    | deleted = false                  | id DESC      | idx_posts_live_id",
+            "posts    | deleted = false                  | created DESC | idx_posts_live_created_id",
+            "posts    | deleted = false                  | likes DESC   | idx_posts_live_likes_id",
+            "comments | deleted = false AND post_id = $1 | id DESC      | idx_comments_live_post_id_id",
+            "comments | deleted = false AND post_id = $1 | created DESC | idx_comments_live_post_id_created_id",
+            "users    | deleted = false                  | id           | idx_users_live_id",
+            "users    | deleted = false                  | created      | idx_users_live_created_id",
+            "users    | NOT deleted AND email = $1       | id           | idx_users_live_email"
+    })
+    void liveRowRead_usesPartialIndex(String table, String filter, String order, String index) {
+        List<String> plan = explainGeneric(table, filter, order, filter.contains("email") ? "'user@gmail.com'" : "1");
+
+        Assertions.assertTrue(plan.stream().anyMatch(line -> line.contains(index)), () -> String.join("\n", plan));
+    }
+
+    @Test
+    void boundDeletedParameter_cannotUsePartialIndex() {
+        List<String> plan = explainGeneric("posts", "deleted = $1", "created DESC", "false");
+
+        Assertions.assertTrue(plan.stream().noneMatch(line -> line.contains("idx_posts_live_")), () -> String.join("\n", plan));
+    }
+
+    private List<String> explainGeneric(String table, String filter, String order, String argument) {
+        String statement = "live_" + table;
+        String parameterType = argument.startsWith("'") ? "text" : argument.equals("false") ? "boolean" : "bigint";
+        jdbcTemplate.execute("PREPARE " + statement + "(" + parameterType + ") AS SELECT id FROM " + schema + "." + table +
+                " WHERE " + filter + " ORDER BY " + order + " LIMIT 10");
+        try {
+            return jdbcTemplate.queryForList("EXPLAIN EXECUTE " + statement + "(" + argument + ")", String.class);
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE " + statement);
+        }
+    }
+
+}
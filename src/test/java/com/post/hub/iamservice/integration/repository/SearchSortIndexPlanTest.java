@@ -0,0 +1,63 @@
+package com.post.hub.iamservice.integration.repository;
+
+import com.post.hub.iamservice.integration.BaseIntegrationTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Every (filter, sort) pair the search criteria offer has to be answered in index order.
+ * Sequential scans and explicit sorts are disabled so that the small test tables still show the index path,
+ * and a plan that cannot avoid a Sort node fails the test.
+ */
+@Tag("integration")
+@Transactional
+class SearchSortIndexPlanTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema}")
+    private String schema;
+
+    @ParameterizedTest(name = "{0} WHERE {1} ORDER BY {2}")
+    @CsvSource(delimiter = '|', value = {
+            "posts    | true            | id DESC         | posts_pkey",
+            "posts    | true            | title DESC      | posts_title_key",
+            "posts    | true            | likes DESC      | idx_posts_likes_id",
+            "posts    | true            | created DESC    | idx_posts_created_id",
+            "posts    | deleted = true  | created DESC    | idx_posts_created_id",
+            "posts    | likes = 3       | id DESC         | idx_posts_likes_id",
+            "posts    | likes = 3       | title DESC      | idx_posts_likes_title",
+            "posts    | likes = 3       | created DESC    | idx_posts_likes_created_id",
+            "comments | true            | id DESC         | comments_pkey",
+            "comments | true            | created_by DESC | idx_comments_created_by_id",
+            "comments | true            | created DESC    | idx_comments_created_id",
+            "comments | post_id = 1     | id DESC         | idx_comments_post_id_id",
+            "comments | post_id = 1     | created_by DESC | idx_comments_post_id_created_by_id",
+            "comments | post_id = 1     | created DESC    | idx_comments_post_id_created_id",
+            "users    | true            | id              | users_pkey",
+            "users    | true            | username        | users_username_key",
+            "users    | true            | email           | users_email_key",
+            "users    | deleted = true  | created         | idx_users_created_id"
+    })
+    void supportedSort_isServedByIndex(String table, String filter, String order, String index) {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL enable_sort = off");
+
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM " + schema + "." + table + " WHERE " + filter + " ORDER BY " + order + " LIMIT 10",
+                String.class);
+
+        Assertions.assertTrue(plan.stream().anyMatch(line -> line.contains(index)), () -> String.join("\n", plan));
+        Assertions.assertTrue(plan.stream().noneMatch(line -> line.contains("Sort")), () -> String.join("\n", plan));
+    }
+
+}
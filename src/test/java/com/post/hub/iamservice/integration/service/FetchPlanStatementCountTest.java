@@ -0,0 +1,106 @@
+package com.post.hub.iamservice.integration.service;
+
+import com.post.hub.iamservice.integration.BaseIntegrationTest;
+import com.post.hub.iamservice.service.CommentService;
+import com.post.hub.iamservice.service.PostService;
+import com.post.hub.iamservice.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+
+@Tag("integration")
+@Transactional
+class FetchPlanStatementCountTest extends BaseIntegrationTest {
+    private static final int SEEDED = 20;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema}")
+    private String schema;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        // Every post and comment gets its own author so a per-row load would show up as extra statements
+        jdbcTemplate.update(
+                "INSERT INTO " + schema + ".users (username, password, email, registration_status, deleted, created, updated) " +
+                        "SELECT 'fetch_plan_' || g, 'x', 'fetch_plan_' || g || '@mail.com', 'ACTIVE', false, now(), now() " +
+                        "FROM generate_series(1, ?) g", SEEDED);
+        jdbcTemplate.update(
+                "INSERT INTO " + schema + ".user_roles (user_id, role_id) " +
+                        "SELECT u.id, r.id FROM " + schema + ".users u JOIN " + schema + ".roles r ON r.name = 'USER' " +
+                        "WHERE u.username LIKE 'fetch_plan_%'");
+        jdbcTemplate.update(
+                "INSERT INTO " + schema + ".posts (user_id, title, content, likes, deleted, created, updated) " +
+                        "SELECT u.id, 'Fetch plan post ' || u.username, 'content', 0, false, now(), now() " +
+                        "FROM " + schema + ".users u WHERE u.username LIKE 'fetch_plan_%'");
+        jdbcTemplate.update(
+                "INSERT INTO " + schema + ".comments (post_id, user_id, message, created_by) " +
+                        "SELECT p.id, p.user_id, 'Fetch plan comment', u.email " +
+                        "FROM " + schema + ".posts p JOIN " + schema + ".users u ON u.id = p.user_id " +
+                        "WHERE p.title LIKE 'Fetch plan post %'");
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void findAllPosts_statementCountDoesNotGrowWithPageSize() {
+        assertConstantStatements(size -> postService.findAllPosts(PageRequest.of(0, size)));
+    }
+
+    @Test
+    void findAllComments_statementCountDoesNotGrowWithPageSize() {
+        assertConstantStatements(size -> commentService.findAllComments(PageRequest.of(0, size)));
+    }
+
+    @Test
+    void findAllUsers_statementCountDoesNotGrowWithPageSize() {
+        assertConstantStatements(size -> userService.findAllUsers(PageRequest.of(0, size)));
+    }
+
+    private void assertConstantStatements(Consumer<Integer> pageLoader) {
+        long small = countStatements(pageLoader, 2);
+        long large = countStatements(pageLoader, SEEDED);
+
+        Assertions.assertEquals(small, large);
+    }
+
+    private long countStatements(Consumer<Integer> pageLoader, int pageSize) {
+        entityManager.clear();
+        statistics.clear();
+        pageLoader.accept(pageSize);
+        return statistics.getPrepareStatementCount();
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.post.hub.iamservice.unit.repository;
+
+import com.post.hub.iamservice.model.exception.InvalidDataException;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class KeysetCursorTest {
+
+    @Test
+    void encode_decode_roundTripsSortValueAndId() {
+        KeysetCursor cursor = new KeysetCursor("title", "Second Post", 2);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void encode_keepsNumericSortValues() {
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor("likes", 6, 1).encode());
+
+        assertEquals(6, decoded.value());
+    }
+
+    @Test
+    void decode_blankCursor_startsFromFirstPage() {
+        assertNull(KeysetCursor.decode(""));
+        assertNull(KeysetCursor.decode(null));
+    }
+
+    @Test
+    void decode_rejectsGarbageAndIncompleteCursors() {
+        String incomplete = Base64.getUrlEncoder().encodeToString("{\"field\":\"id\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidDataException.class, () -> KeysetCursor.decode("not-a-cursor"));
+        assertThrows(InvalidDataException.class, () -> KeysetCursor.decode(incomplete));
+    }
+
+}
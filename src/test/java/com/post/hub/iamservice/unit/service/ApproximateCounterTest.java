@@ -0,0 +1,69 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.post.hub.iamservice.repository.TableStatisticsRepository;
+import com.post.hub.iamservice.service.cache.ApproximateCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+@Tag("unit")
+class ApproximateCounterTest {
+
+    @Mock
+    private TableStatisticsRepository tableStatisticsRepository;
+
+    private ApproximateCounter approximateCounter;
+
+    @BeforeEach
+    void setUp() {
+        approximateCounter = new ApproximateCounter(tableStatisticsRepository, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void count_unfiltered_usesTableEstimate() {
+        when(tableStatisticsRepository.estimateRowCount("posts")).thenReturn(OptionalLong.of(1_000_000));
+
+        long total = approximateCounter.count("posts", Arrays.asList(null, null), () -> {
+            throw new AssertionError("exact count must not run");
+        });
+
+        assertThat(total).isEqualTo(1_000_000);
+    }
+
+    @Test
+    void count_unfilteredWithoutStatistics_fallsBackToExactCount() {
+        when(tableStatisticsRepository.estimateRowCount("posts")).thenReturn(OptionalLong.empty());
+
+        assertThat(approximateCounter.count("posts", List.of(), () -> 7)).isEqualTo(7);
+    }
+
+    @Test
+    void count_filtered_reusesCachedExactCount() {
+        AtomicInteger calls = new AtomicInteger();
+
+        long first = approximateCounter.count("posts", Arrays.asList("java", null), () -> calls.incrementAndGet() * 10L);
+        long second = approximateCounter.count("posts", Arrays.asList("java", null), () -> calls.incrementAndGet() * 10L);
+        long other = approximateCounter.count("posts", Arrays.asList("kotlin", null), () -> calls.incrementAndGet() * 10L);
+
+        assertThat(first).isEqualTo(10);
+        assertThat(second).isEqualTo(10);
+        assertThat(other).isEqualTo(20);
+        verifyNoInteractions(tableStatisticsRepository);
+    }
+
+}
@@ -1,11 +1,13 @@
 package com.post.hub.iamservice.unit.service;
 
 import com.post.hub.iamservice.mapper.UserMapper;
+import com.post.hub.iamservice.model.constants.ApiErrorMessage;
 import com.post.hub.iamservice.model.dto.user.UserProfileDTO;
 import com.post.hub.iamservice.model.entities.RefreshToken;
 import com.post.hub.iamservice.model.entities.Role;
 import com.post.hub.iamservice.model.entities.User;
 import com.post.hub.iamservice.model.enums.RegistrationStatus;
+import com.post.hub.iamservice.model.exception.DataExistException;
 import com.post.hub.iamservice.model.exception.InvalidDataException;
 import com.post.hub.iamservice.model.exception.InvalidPasswordException;
 import com.post.hub.iamservice.model.exception.NotFoundException;
@@ -15,10 +17,13 @@ import com.post.hub.iamservice.model.request.user.RegistrationUserRequest;
 import com.post.hub.iamservice.model.response.IamResponse;
 import com.post.hub.iamservice.repository.RoleRepository;
 import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.repository.projection.InsertedUser;
+import com.post.hub.iamservice.repository.projection.UserIdentityConflict;
 import com.post.hub.iamservice.security.JwtTokenProvider;
 import com.post.hub.iamservice.security.validation.AccessValidator;
 import com.post.hub.iamservice.service.RefreshTokenService;
 import com.post.hub.iamservice.service.impl.AuthServiceImpl;
+import com.post.hub.iamservice.service.index.UserIdentityIndex;
 import com.post.hub.iamservice.service.model.IamServiceUserRole;
 import com.post.hub.iamservice.utils.ApiUtils;
 import com.post.hub.iamservice.utils.PasswordUtils;
@@ -77,6 +82,9 @@ public class AuthServiceTest {
     @Mock
     private ApiUtils apiUtils;
 
+    @Mock
+    private UserIdentityIndex userIdentityIndex;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -206,17 +214,13 @@ public class AuthServiceTest {
                 "password123!"
         );
 
-        doNothing().when(accessValidator).validateNewUser(
-                request.getUsername(),
-                request.getEmail(),
-                request.getPassword(),
-                request.getConfirmPassword()
-        );
+        doNothing().when(accessValidator).validateNewUserPassword(request.getPassword(), request.getConfirmPassword());
 
-        when(roleRepository.findByName(IamServiceUserRole.USER.getRole())).thenReturn(Optional.of(userRole));
         when(userMapper.fromDto(request)).thenReturn(testUser);
         when(passwordEncoder.encode(request.getPassword())).thenReturn("hashedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.insertUserIfAbsent(testUser, IamServiceUserRole.USER.getRole()))
+                .thenReturn(Optional.of(new InsertedUser(1, 10)));
+        when(userRepository.getReferenceById(1)).thenReturn(testUser);
         when(refreshTokenService.generateOrUpdateRefreshToken(testUser)).thenReturn(testRefreshToken);
         when(jwtTokenProvider.generateToken(testUser)).thenReturn("access_token_123");
         when(userMapper.toUserProfileDTO(testUser, "access_token_123", testRefreshToken.getToken()))
@@ -227,44 +231,74 @@ public class AuthServiceTest {
         assertNotNull(result);
         assertEquals("access_token_123", result.getPayload().getToken());
         assertEquals("refresh_token_123", result.getPayload().getRefreshToken());
+        assertEquals(1, testUser.getId());
+        assertEquals(10, testUser.getRoles().iterator().next().getId());
 
-        verify(accessValidator).validateNewUser(
-                request.getUsername(),
-                request.getEmail(),
-                request.getPassword(),
-                request.getConfirmPassword()
-        );
-        verify(roleRepository).findByName(IamServiceUserRole.USER.getRole());
-        verify(userRepository).save(any(User.class));
+        verify(accessValidator).validateNewUserPassword(request.getPassword(), request.getConfirmPassword());
+        verify(userRepository).insertUserIfAbsent(testUser, IamServiceUserRole.USER.getRole());
+        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).findIdentityConflict(anyString(), anyString());
+        verify(roleRepository, never()).findByName(anyString());
         verify(refreshTokenService).generateOrUpdateRefreshToken(testUser);
         verify(jwtTokenProvider).generateToken(testUser);
         verify(userMapper).toUserProfileDTO(testUser, "access_token_123", testRefreshToken.getToken());
+        verify(userIdentityIndex).add(testUser.getUsername(), testUser.getEmail());
     }
 
     @Test
     void registerUser_RoleMissing_ThrowsNotFound() {
         RegistrationUserRequest request = new RegistrationUserRequest("newUser", "newuser@gmail.com", "p", "p");
 
-        doNothing().when(accessValidator).validateNewUser(anyString(), anyString(), anyString(), anyString());
-        when(roleRepository.findByName(IamServiceUserRole.USER.getRole())).thenReturn(Optional.empty());
+        doNothing().when(accessValidator).validateNewUserPassword(anyString(), anyString());
+        when(userMapper.fromDto(request)).thenReturn(testUser);
+        when(userRepository.insertUserIfAbsent(any(User.class), anyString()))
+                .thenReturn(Optional.of(new InsertedUser(1, null)));
 
         assertThrows(NotFoundException.class, () -> authService.registerUser(request));
 
-        verify(userRepository, never()).save(any());
         verify(refreshTokenService, never()).generateOrUpdateRefreshToken(any());
     }
 
+    @Test
+    void registerUser_UsernameTaken_ThrowsDataExist() {
+        RegistrationUserRequest request = new RegistrationUserRequest("dup", "new@gmail.com", "p", "p");
+
+        when(userMapper.fromDto(request)).thenReturn(testUser);
+        when(userRepository.insertUserIfAbsent(any(User.class), anyString())).thenReturn(Optional.empty());
+        when(userRepository.findIdentityConflict("dup", "new@gmail.com"))
+                .thenReturn(new UserIdentityConflict(true, false));
+
+        DataExistException ex = assertThrows(DataExistException.class, () -> authService.registerUser(request));
+
+        assertEquals(ApiErrorMessage.USERNAME_ALREADY_EXISTS.getMessage("dup"), ex.getMessage());
+        verify(refreshTokenService, never()).generateOrUpdateRefreshToken(any());
+    }
+
+    @Test
+    void registerUser_EmailTaken_ThrowsDataExist() {
+        RegistrationUserRequest request = new RegistrationUserRequest("fresh", "dup@gmail.com", "p", "p");
+
+        when(userMapper.fromDto(request)).thenReturn(testUser);
+        when(userRepository.insertUserIfAbsent(any(User.class), anyString())).thenReturn(Optional.empty());
+        when(userRepository.findIdentityConflict("fresh", "dup@gmail.com"))
+                .thenReturn(new UserIdentityConflict(false, true));
+
+        DataExistException ex = assertThrows(DataExistException.class, () -> authService.registerUser(request));
+
+        assertEquals(ApiErrorMessage.EMAIL_ALREADY_EXISTS.getMessage("dup@gmail.com"), ex.getMessage());
+    }
+
     @Test
     void registerUser_ValidationFails_ThrowsInvalidData() {
         RegistrationUserRequest request = new RegistrationUserRequest("bad", "bad@mail", "x", "y");
 
-        doThrow(new InvalidDataException("validation fail")).when(accessValidator).validateNewUser(
-                anyString(), anyString(), anyString(), anyString()
+        doThrow(new InvalidDataException("validation fail")).when(accessValidator).validateNewUserPassword(
+                anyString(), anyString()
         );
 
         assertThrows(InvalidDataException.class, () -> authService.registerUser(request));
 
-        verify(roleRepository, never()).findByName(anyString());
+        verify(userRepository, never()).insertUserIfAbsent(any(), anyString());
         verify(userRepository, never()).save(any());
     }
 
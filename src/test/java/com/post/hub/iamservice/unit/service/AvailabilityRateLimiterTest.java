@@ -0,0 +1,27 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.post.hub.iamservice.model.exception.TooManyRequestsException;
+import com.post.hub.iamservice.security.AvailabilityRateLimiter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("unit")
+class AvailabilityRateLimiterTest {
+
+    private final AvailabilityRateLimiter rateLimiter = new AvailabilityRateLimiter(2, Duration.ofMinutes(1), 100);
+
+    @Test
+    void acquire_overLimit_Throws_perClient() {
+        rateLimiter.acquire("10.0.0.1");
+        rateLimiter.acquire("10.0.0.1");
+
+        assertThatThrownBy(() -> rateLimiter.acquire("10.0.0.1")).isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> rateLimiter.acquire("10.0.0.2")).doesNotThrowAnyException();
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.post.hub.iamservice.model.dto.post.PostDTO;
+import com.post.hub.iamservice.model.exception.InvalidDataException;
+import com.post.hub.iamservice.model.response.IamResponse;
+import com.post.hub.iamservice.service.cache.BatchCacheLoader;
+import com.post.hub.iamservice.service.cache.CoalescingCaffeineCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("unit")
+class BatchCacheLoaderTest {
+
+    private final CoalescingCaffeineCache cache = new CoalescingCaffeineCache("posts", Caffeine.newBuilder().build(),
+            Caffeine.newBuilder().build(), false, new SimpleMeterRegistry());
+    private final SimpleCacheManager cacheManager = new SimpleCacheManager();
+    private final BatchCacheLoader batchCacheLoader = new BatchCacheLoader(cacheManager, 3);
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.setCaches(List.of(cache));
+        cacheManager.initializeCaches();
+    }
+
+    @Test
+    void getAll_loadsOnlyMisses_inOneCall_andKeepsRequestOrder() {
+        cache.put(2, IamResponse.createSuccessful(post(2)));
+        List<List<Integer>> loads = new ArrayList<>();
+
+        Map<Integer, PostDTO> posts = batchCacheLoader.getAll("posts", List.of(3, 2, 1), loader(loads, 1, 3));
+
+        assertThat(loads).containsExactly(List.of(3, 1));
+        assertThat(posts.keySet()).containsExactly(3, 2, 1);
+        assertThat(posts.values()).extracting(PostDTO::getId).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    void getAll_missingIds_mapToNull_andAreNotCached() {
+        List<List<Integer>> loads = new ArrayList<>();
+
+        Map<Integer, PostDTO> posts = batchCacheLoader.getAll("posts", List.of(1, 9), loader(loads, 1));
+
+        assertThat(posts).containsEntry(9, null).containsKey(1);
+        assertThat(cache.get(1)).isNotNull();
+        assertThat(cache.get(9)).isNull();
+    }
+
+    @Test
+    void getAll_allCached_neverCallsLoader() {
+        cache.put(1, IamResponse.createSuccessful(post(1)));
+        List<List<Integer>> loads = new ArrayList<>();
+
+        Map<Integer, PostDTO> posts = batchCacheLoader.getAll("posts", List.of(1, 1), loader(loads));
+
+        assertThat(loads).isEmpty();
+        assertThat(posts).hasSize(1);
+    }
+
+    @Test
+    void getAll_loadOverlappingAnEviction_doesNotCacheTheOldRow() {
+        Map<Integer, PostDTO> posts = batchCacheLoader.getAll("posts", List.of(1), ids -> {
+            Map<Integer, PostDTO> rows = Map.of(1, post(1));
+            // an update commits and evicts after the batch read the row
+            cache.evict(1);
+            return rows;
+        });
+
+        assertThat(posts).containsKey(1);
+        assertThat(cache.get(1)).isNull();
+    }
+
+    @Test
+    void getAll_keyAlreadyLoading_leavesItToThatLoad() {
+        CompletableFuture<Object> single = cache.beginLoad(1);
+
+        batchCacheLoader.getAll("posts", List.of(1), loader(new ArrayList<>(), 1));
+        assertThat(cache.get(1)).isNull();
+
+        cache.completeLoad(1, single, IamResponse.createSuccessful(post(1)));
+        assertThat(cache.get(1)).isNotNull();
+    }
+
+    @Test
+    void getAll_failedLoad_releasesItsKeys() {
+        assertThatThrownBy(() -> batchCacheLoader.getAll("posts", List.of(1), ids -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.beginLoad(1)).isNotNull();
+    }
+
+    @Test
+    void getAll_tooManyIds_Throws() {
+        assertThatThrownBy(() -> batchCacheLoader.getAll("posts", List.of(1, 2, 3, 4), loader(new ArrayList<>())))
+                .isInstanceOf(InvalidDataException.class);
+    }
+
+    private static Function<List<Integer>, Map<Integer, PostDTO>> loader(List<List<Integer>> loads, Integer... existing) {
+        List<Integer> existingIds = List.of(existing);
+        return ids -> {
+            loads.add(ids);
+            return ids.stream()
+                    .filter(existingIds::contains)
+                    .collect(Collectors.toMap(Function.identity(), BatchCacheLoaderTest::post));
+        };
+    }
+
+    private static PostDTO post(Integer id) {
+        PostDTO post = new PostDTO();
+        post.setId(id);
+        return post;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.post.hub.iamservice.model.exception.NotFoundException;
+import com.post.hub.iamservice.service.cache.CoalescingCaffeineCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@Tag("unit")
+class CoalescingCaffeineCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CoalescingCaffeineCache cache =
+            new CoalescingCaffeineCache("posts", Caffeine.newBuilder().build(), Caffeine.newBuilder().build(), false, meterRegistry);
+
+    @Test
+    void get_concurrentMisses_runLoaderOnce_andShareItsValue() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get(1, () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "post";
+                })));
+            }
+
+            // the loader only returns once every other caller is waiting on it
+            while (coalesced() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("post");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(coalesced()).isEqualTo(callers - 1);
+        assertThat(cache.get(1, () -> "reloaded")).isEqualTo("post");
+    }
+
+    @Test
+    void get_failedLoad_isNotCached_andIsRetriedByTheNextCaller() {
+        IllegalStateException failure = new IllegalStateException("db down");
+
+        assertThatThrownBy(() -> cache.get(1, () -> {
+            throw failure;
+        }))
+                .isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasCause(failure);
+
+        assertThat(cache.get(1, () -> "post")).isEqualTo("post");
+        assertThat(coalesced()).isZero();
+    }
+
+    @Test
+    void get_notFound_isAnsweredFromMemory_untilTheKeyIsEvicted() {
+        NotFoundException notFound = new NotFoundException("Post with ID: 1 was not found");
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            Throwable thrown = catchThrowable(() -> cache.get(1, () -> {
+                loads.incrementAndGet();
+                throw notFound;
+            }));
+            // the first caller gets the loader's failure, later ones the remembered exception itself
+            assertThat(thrown instanceof Cache.ValueRetrievalException ? thrown.getCause() : thrown).isSameAs(notFound);
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(notFound.getStackTrace()).isEmpty();
+        assertThat(meterRegistry.get("cache.missing.hits").tag("cache", "posts").counter().count()).isEqualTo(2);
+
+        cache.evict(1);
+        assertThat(cache.get(1, () -> "created")).isEqualTo("created");
+    }
+
+    @Test
+    void get_loadOverlappingAnEviction_doesNotStoreItsStaleValue() {
+        String returned = cache.get(1, () -> {
+            // an update commits and evicts while this read is still running
+            cache.evict(1);
+            assertThat(cache.get(1, () -> "fresh")).isEqualTo("fresh");
+            return "stale";
+        });
+
+        assertThat(returned).isEqualTo("stale");
+        assertThat(cache.get(1, () -> "reloaded")).isEqualTo("fresh");
+        assertThat(coalesced()).isZero();
+    }
+
+    @Test
+    void get_notFoundOverlappingACreate_isNotRemembered() {
+        NotFoundException notFound = new NotFoundException("Post with ID: 1 was not found");
+
+        catchThrowable(() -> cache.get(1, () -> {
+            cache.evict(1);
+            throw notFound;
+        }));
+
+        assertThat(cache.get(1, () -> "created")).isEqualTo("created");
+    }
+
+    @Test
+    void get_waitingOnAnExternalLoadThatFoundNothing_loadsItself() throws Exception {
+        CompletableFuture<Object> batch = cache.beginLoad(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> result = executor.submit(() -> cache.get(1, () -> "post"));
+            while (coalesced() < 1) {
+                Thread.onSpinWait();
+            }
+
+            cache.completeLoad(1, batch, null);
+
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("post");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(cache.get(1, () -> "reloaded")).isEqualTo("post");
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("cache.coalesced").tag("cache", "posts").counter().count();
+    }
+
+}
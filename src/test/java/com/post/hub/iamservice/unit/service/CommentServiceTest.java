@@ -16,14 +16,20 @@ import com.post.hub.iamservice.model.response.PaginationResponse;
 import com.post.hub.iamservice.repository.CommentRepository;
 import com.post.hub.iamservice.repository.PostRepository;
 import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+import com.post.hub.iamservice.repository.criteria.PostCommentsCriteria;
+import com.post.hub.iamservice.repository.projection.CommentSearchRow;
+import com.post.hub.iamservice.repository.projection.KeysetPage;
 import com.post.hub.iamservice.security.validation.AccessValidator;
 import com.post.hub.iamservice.service.impl.CommentServiceImpl;
+import com.post.hub.iamservice.service.index.CommentSearchIndex;
 import com.post.hub.iamservice.utils.ApiUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -33,7 +39,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -69,6 +77,9 @@ public class CommentServiceTest {
     @Mock
     private KafkaMessageService kafkaMessageService;
 
+    @Mock
+    private CommentSearchIndex commentSearchIndex;
+
     @InjectMocks
     private CommentServiceImpl commentService;
 
@@ -148,6 +159,7 @@ public class CommentServiceTest {
         verify(commentRepository).save(any(Comment.class));
         verify(commentMapper).toDTO(any(Comment.class));
         verify(kafkaMessageService).sendCommentCreatedMessage(testUser.getId(), testPost.getId());
+        verify(postRepository).addCommentCount(testPost.getId(), 1);
     }
 
     @Test
@@ -208,6 +220,7 @@ public class CommentServiceTest {
         assertEquals("Updated msg", resp.getPayload().getMessage());
 
         verify(postRepository, never()).findById(anyInt());
+        verify(postRepository, never()).addCommentCount(anyInt(), anyInt());
         verify(kafkaMessageService).sendCommentUpdatedMessage(testUser.getId(), testComment.getId(), "Updated msg");
     }
 
@@ -232,6 +245,9 @@ public class CommentServiceTest {
         assertEquals(2, resp.getPayload().getPostId());
 
         assertEquals(2, testComment.getPost().getId());
+        InOrder counts = inOrder(postRepository);
+        counts.verify(postRepository).addCommentCount(1, -1);
+        counts.verify(postRepository).addCommentCount(2, 1);
         verify(kafkaMessageService).sendCommentUpdatedMessage(eq(testUser.getId()), eq(testComment.getId()), anyString());
     }
 
@@ -283,6 +299,7 @@ public class CommentServiceTest {
 
         assertTrue(testComment.getDeleted(), "flag deleted must be true");
         verify(commentRepository).save(testComment);
+        verify(postRepository).addCommentCount(testPost.getId(), -1);
         verify(kafkaMessageService).sendCommentDeletedMessage(testUser.getId(), testComment.getId());
     }
 
@@ -338,16 +355,15 @@ public class CommentServiceTest {
     }
 
     @Test
-    void searchComments_UsesSpecificationAndMapsDTOs() {
+    void searchComments_UsesSpecificationProjectionAndMapsDTOs() {
         CommentSearchRequest req = new CommentSearchRequest();
         Pageable pageable = PageRequest.of(1, 3);
 
-        Comment c1 = new Comment();
-        c1.setId(21);
-        Comment c2 = new Comment();
-        c2.setId(22);
-        Page<Comment> page = new PageImpl<>(List.of(c1, c2), pageable, 8);
-        when(commentRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
+        LocalDateTime now = LocalDateTime.now();
+        CommentSearchRow c1 = new CommentSearchRow(21, "m1", 1, "user", "user@mail.com", 5, now, now, false, "user@mail.com");
+        CommentSearchRow c2 = new CommentSearchRow(22, "m2", 1, "user", "user@mail.com", 5, now, now, false, "user@mail.com");
+        Page<CommentSearchRow> page = new PageImpl<>(List.of(c1, c2), pageable, 8);
+        when(commentRepository.searchRows(any(Specification.class), eq(pageable))).thenReturn(page);
 
         CommentSearchDTO d1 = new CommentSearchDTO();
         d1.setId(21);
@@ -364,7 +380,42 @@ public class CommentServiceTest {
         assertEquals(3, resp.getPayload().getPagination().getLimit());
         assertEquals(2, resp.getPayload().getPagination().getPage());
 
-        verify(commentRepository).findAll(any(Specification.class), eq(pageable));
+        verify(commentRepository).searchRows(any(Specification.class), eq(pageable));
 
     }
+
+    @Test
+    void findPostCommentsAfter_readsKeysetPage_cappedAtMaxLimit() {
+        ReflectionTestUtils.setField(commentService, "postCommentsMaxLimit", 2);
+        LocalDateTime now = LocalDateTime.now();
+        CommentSearchRow c1 = new CommentSearchRow(31, "m1", 1, "user", "user@mail.com", 1, now, now, false, "user");
+        CommentSearchRow c2 = new CommentSearchRow(30, "m2", 1, "user", "user@mail.com", 1, now, now, false, "user");
+        KeysetCursor next = new KeysetCursor(Comment.CREATED_FIELD, now.toString(), 30);
+        when(postRepository.existsByIdAndDeletedFalse(1)).thenReturn(true);
+        when(commentRepository.searchRowsAfter(any(PostCommentsCriteria.class), isNull(), eq(2)))
+                .thenReturn(new KeysetPage<>(List.of(c1, c2), next));
+        CommentSearchDTO d1 = new CommentSearchDTO();
+        d1.setId(31);
+        CommentSearchDTO d2 = new CommentSearchDTO();
+        d2.setId(30);
+        when(commentMapper.toCommentSearchDTO(c1)).thenReturn(d1);
+        when(commentMapper.toCommentSearchDTO(c2)).thenReturn(d2);
+
+        IamResponse<PaginationResponse<CommentSearchDTO>> resp = commentService.findPostCommentsAfter(1, null, 50);
+
+        assertThat(resp.getPayload().getContent()).extracting("id").containsExactly(31, 30);
+        assertEquals(2, resp.getPayload().getPagination().getLimit());
+        assertEquals(next.encode(), resp.getPayload().getPagination().getNextCursor());
+    }
+
+    @Test
+    void findPostCommentsAfter_PostNotFound_Throws() {
+        when(postRepository.existsByIdAndDeletedFalse(9)).thenReturn(false);
+
+        assertThatThrownBy(() -> commentService.findPostCommentsAfter(9, null, 10))
+                .isInstanceOf(NotFoundException.class);
+
+        verify(commentRepository, never()).searchRowsAfter(any(), any(), anyInt());
+    }
+
 }
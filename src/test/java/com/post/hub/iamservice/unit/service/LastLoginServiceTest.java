@@ -0,0 +1,93 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.service.impl.LastLoginServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+@Tag("unit")
+class LastLoginServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private LastLoginServiceImpl lastLoginService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(lastLoginService, "batchSize", 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_keepsOnlyLatestLoginPerUser() {
+        LocalDateTime first = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime latest = first.plusMinutes(5);
+
+        lastLoginService.registerLogin(1, first);
+        lastLoginService.registerLogin(1, latest);
+        lastLoginService.registerLogin(1, first.plusMinutes(1));
+
+        lastLoginService.flush();
+
+        ArgumentCaptor<Map<Integer, LocalDateTime>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(userRepository).updateLastLogins(captor.capture());
+        assertThat(captor.getValue()).containsExactly(Map.entry(1, latest));
+    }
+
+    @Test
+    void flush_splitsIntoBatches_andDrainsBuffer() {
+        LocalDateTime now = LocalDateTime.now();
+        lastLoginService.registerLogin(1, now);
+        lastLoginService.registerLogin(2, now);
+        lastLoginService.registerLogin(3, now);
+
+        lastLoginService.flush();
+        lastLoginService.flush();
+
+        verify(userRepository, times(2)).updateLastLogins(anyMap());
+    }
+
+    @Test
+    void flush_withNothingPending_doesNotTouchDatabase() {
+        lastLoginService.flush();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_whenUpdateFails_retriesOnNextFlush() {
+        LocalDateTime now = LocalDateTime.now();
+        lastLoginService.registerLogin(7, now);
+        when(userRepository.updateLastLogins(anyMap()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(1);
+
+        lastLoginService.flush();
+        lastLoginService.flush();
+
+        ArgumentCaptor<Map<Integer, LocalDateTime>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(userRepository, times(2)).updateLastLogins(captor.capture());
+        assertThat(captor.getAllValues().get(1)).containsExactly(Map.entry(7, now));
+    }
+
+}
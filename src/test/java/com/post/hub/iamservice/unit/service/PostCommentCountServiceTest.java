@@ -0,0 +1,56 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.post.hub.iamservice.repository.PostRepository;
+import com.post.hub.iamservice.service.impl.PostCommentCountServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+@Tag("unit")
+class PostCommentCountServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @InjectMocks
+    private PostCommentCountServiceImpl postCommentCountService;
+
+    @Test
+    void repairCommentCounts_recountsIdRangesInBatches() {
+        ReflectionTestUtils.setField(postCommentCountService, "batchSize", 10);
+        when(postRepository.findMaxId()).thenReturn(Optional.of(25));
+        when(postRepository.recountComments(anyInt(), anyInt())).thenReturn(1);
+
+        int repaired = postCommentCountService.repairCommentCounts();
+
+        assertEquals(3, repaired);
+        InOrder batches = inOrder(postRepository);
+        batches.verify(postRepository).recountComments(0, 10);
+        batches.verify(postRepository).recountComments(10, 20);
+        batches.verify(postRepository).recountComments(20, 25);
+    }
+
+    @Test
+    void repairCommentCounts_noPosts_doesNothing() {
+        when(postRepository.findMaxId()).thenReturn(Optional.empty());
+
+        assertEquals(0, postCommentCountService.repairCommentCounts());
+
+        verify(postRepository, never()).recountComments(anyInt(), anyInt());
+    }
+
+}
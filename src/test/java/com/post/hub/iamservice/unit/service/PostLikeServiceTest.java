@@ -0,0 +1,162 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.post.hub.iamservice.repository.PostRepository;
+import com.post.hub.iamservice.repository.projection.PostTitleEntry;
+import com.post.hub.iamservice.service.index.PostTitleIndex;
+import com.post.hub.iamservice.service.impl.PostLikeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+@Tag("unit")
+class PostLikeServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostTitleIndex postTitleIndex;
+
+    @InjectMocks
+    private PostLikeServiceImpl postLikeService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(postLikeService, "batchSize", 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_sendsNetDeltaPerPost_fromConcurrentLikes() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> postLikeService.registerLikes(1, 1));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        postLikeService.registerLikes(1, -1);
+        postLikeService.registerLikes(2, 1);
+        postLikeService.registerLikes(2, -1);
+
+        assertThat(postLikeService.pendingLikes(1)).isEqualTo(9_999);
+
+        postLikeService.flush();
+
+        ArgumentCaptor<Map<Integer, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(postRepository).addLikes(captor.capture());
+        assertThat(captor.getValue()).containsExactly(Map.entry(1, 9_999L));
+        assertThat(postLikeService.pendingLikes(1)).isZero();
+    }
+
+    @Test
+    void flush_splitsIntoBatches_andDrainsCounters() {
+        postLikeService.registerLikes(1, 1);
+        postLikeService.registerLikes(2, 1);
+        postLikeService.registerLikes(3, 1);
+
+        postLikeService.flush();
+        postLikeService.flush();
+
+        verify(postRepository, times(2)).addLikes(anyMap());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_sendsBatchInPostIdOrder() {
+        postLikeService.registerLikes(40, 1);
+        postLikeService.registerLikes(3, 1);
+
+        postLikeService.flush();
+
+        ArgumentCaptor<Map<Integer, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(postRepository).addLikes(captor.capture());
+        assertThat(captor.getValue().keySet()).containsExactly(3, 40);
+    }
+
+    @Test
+    void flush_withNothingPending_doesNotTouchDatabase() {
+        postLikeService.flush();
+
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_whenUpdateFails_retriesOnNextFlush() {
+        postLikeService.registerLikes(7, 3);
+        when(postRepository.addLikes(anyMap()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of(new PostTitleEntry(7, "Seven", 4)));
+
+        postLikeService.flush();
+        postLikeService.registerLikes(7, 1);
+        postLikeService.flush();
+
+        ArgumentCaptor<Map<Integer, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(postRepository, times(2)).addLikes(captor.capture());
+        assertThat(captor.getAllValues().get(1)).containsExactly(Map.entry(7, 4L));
+    }
+
+    @Test
+    void flush_passesUpdatedTotalsToTitleIndex() {
+        List<PostTitleEntry> totals = List.of(new PostTitleEntry(5, "Five", 12));
+        when(postRepository.addLikes(anyMap())).thenReturn(totals);
+        postLikeService.registerLikes(5, 2);
+
+        postLikeService.flush();
+
+        verify(postTitleIndex).updateLikes(totals);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_evictingIdleCounters_doesNotLoseConcurrentLikes() throws InterruptedException {
+        AtomicLong flushed = new AtomicLong();
+        when(postRepository.addLikes(anyMap())).thenAnswer(inv -> {
+            inv.<Map<Integer, Long>>getArgument(0).values().forEach(flushed::addAndGet);
+            return List.of();
+        });
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (running.get()) {
+                postLikeService.flush();
+            }
+        });
+        flusher.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 50_000; i++) {
+            executor.execute(() -> postLikeService.registerLikes(1, 1));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        running.set(false);
+        flusher.join();
+        postLikeService.flush();
+
+        assertThat(flushed.get()).isEqualTo(50_000);
+    }
+
+}
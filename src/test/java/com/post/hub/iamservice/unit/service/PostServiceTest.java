@@ -1,11 +1,19 @@
 package com.post.hub.iamservice.unit.service;
 
+import com.post.hub.iamservice.kafka.model.utils.ActionType;
 import com.post.hub.iamservice.kafka.service.KafkaMessageService;
 import com.post.hub.iamservice.mapper.PostMapper;
+import com.post.hub.iamservice.model.constants.CacheNames;
+import com.post.hub.iamservice.model.dto.post.PostAutocompleteDTO;
+import com.post.hub.iamservice.model.dto.post.PostBatchDTO;
 import com.post.hub.iamservice.model.dto.post.PostDTO;
+import com.post.hub.iamservice.model.dto.post.PostLikeDTO;
 import com.post.hub.iamservice.model.dto.post.PostSearchDTO;
+import com.post.hub.iamservice.model.dto.post.PostTitleSuggestionDTO;
+import com.post.hub.iamservice.model.dto.post.PostTrendingDTO;
 import com.post.hub.iamservice.model.entities.Post;
 import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.model.enums.CountMode;
 import com.post.hub.iamservice.model.exception.DataExistException;
 import com.post.hub.iamservice.model.exception.NotFoundException;
 import com.post.hub.iamservice.model.request.post.NewPostRequest;
@@ -15,8 +23,20 @@ import com.post.hub.iamservice.model.response.IamResponse;
 import com.post.hub.iamservice.model.response.PaginationResponse;
 import com.post.hub.iamservice.repository.PostRepository;
 import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.repository.criteria.KeysetCursor;
+import com.post.hub.iamservice.repository.criteria.PostSearchCriteria;
+import com.post.hub.iamservice.repository.projection.KeysetPage;
+import com.post.hub.iamservice.repository.projection.PostSearchRow;
+import com.post.hub.iamservice.repository.projection.PostTitleEntry;
+import com.post.hub.iamservice.repository.projection.RankedPostRow;
 import com.post.hub.iamservice.security.validation.AccessValidator;
+import com.post.hub.iamservice.service.PostLikeService;
+import com.post.hub.iamservice.service.cache.ApproximateCounter;
+import com.post.hub.iamservice.service.cache.BatchCacheLoader;
 import com.post.hub.iamservice.service.impl.PostServiceImpl;
+import com.post.hub.iamservice.service.index.PostSearchIndex;
+import com.post.hub.iamservice.service.index.PostTitleIndex;
+import com.post.hub.iamservice.service.index.TrendingPostIndex;
 import com.post.hub.iamservice.utils.ApiUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -30,13 +50,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -65,6 +90,24 @@ class PostServiceTest {
     @Mock
     private AccessValidator accessValidator;
 
+    @Mock
+    private ApproximateCounter approximateCounter;
+
+    @Mock
+    private PostSearchIndex postSearchIndex;
+
+    @Mock
+    private PostTitleIndex postTitleIndex;
+
+    @Mock
+    private PostLikeService postLikeService;
+
+    @Mock
+    private TrendingPostIndex trendingPostIndex;
+
+    @Mock
+    private BatchCacheLoader batchCacheLoader;
+
     @InjectMocks
     private PostServiceImpl postService;
 
@@ -93,7 +136,7 @@ class PostServiceTest {
 
     @Test
     void getById_PostExists_ReturnsDTO() {
-        when(postRepository.findByIdAndDeletedFalse(1)).thenReturn(Optional.of(testPost));
+        when(postRepository.findDetailByIdAndDeletedFalse(1)).thenReturn(Optional.of(testPost));
         when(postMapper.toDTO(testPost)).thenReturn(testPostDTO);
 
         PostDTO dto = postService.getById(1).getPayload();
@@ -101,17 +144,31 @@ class PostServiceTest {
         assertNotNull(dto);
         assertEquals(1, dto.getId());
         assertEquals("Test Post", dto.getTitle());
-        verify(postRepository).findByIdAndDeletedFalse(1);
+        verify(postRepository).findDetailByIdAndDeletedFalse(1);
         verify(postMapper).toDTO(testPost);
     }
 
     @Test
     void getById_NotFound_Throws() {
-        when(postRepository.findByIdAndDeletedFalse(999)).thenReturn(Optional.empty());
+        when(postRepository.findDetailByIdAndDeletedFalse(999)).thenReturn(Optional.empty());
         assertThrows(NotFoundException.class, () -> postService.getById(999));
         verify(postMapper, never()).toDTO(any());
     }
 
+    @Test
+    void getByIds_loadsMissesWithOneQuery() {
+        List<Integer> ids = List.of(1, 7);
+        when(batchCacheLoader.<PostDTO>getAll(eq(CacheNames.POSTS), eq(ids), any()))
+                .thenAnswer(inv -> inv.<Function<List<Integer>, Map<Integer, PostDTO>>>getArgument(2).apply(ids));
+        when(postRepository.findAllByIdInAndDeletedFalse(ids)).thenReturn(List.of(testPost));
+        when(postMapper.toDTO(testPost)).thenReturn(testPostDTO);
+
+        IamResponse<PostBatchDTO> resp = postService.getByIds(ids);
+
+        assertEquals(Map.of(1, testPostDTO), resp.getPayload().getPosts());
+        verify(postRepository).findAllByIdInAndDeletedFalse(ids);
+    }
+
     @Test
     void createPost_OK() {
         NewPostRequest req = new NewPostRequest("New Title", "New Content", 100);
@@ -160,7 +217,7 @@ class PostServiceTest {
 
     @Test
     void updatePost_OK() {
-        UpdatePostRequest req = new UpdatePostRequest("Upd", "Body", 5);
+        UpdatePostRequest req = new UpdatePostRequest("Upd", "Body");
 
         when(postRepository.findByIdAndDeletedFalse(1)).thenReturn(Optional.of(testPost));
         doNothing().when(accessValidator).validateAdminOrOwnerAccess(testUser.getId());
@@ -184,11 +241,12 @@ class PostServiceTest {
         verify(postMapper).updatePost(testPost, req);
         verify(postRepository).save(testPost);
         verify(kafkaMessageService).sendPostUpdatedMessage(1, 1);
+        verify(kafkaMessageService).sendPostPurgeMessage(1, 1, ActionType.UPDATE);
     }
 
     @Test
     void updatePost_NotFound_Throws() {
-        UpdatePostRequest req = new UpdatePostRequest("X", "Y", 1);
+        UpdatePostRequest req = new UpdatePostRequest("X", "Y");
         when(postRepository.findByIdAndDeletedFalse(9)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> postService.updatePost(9, req));
@@ -200,7 +258,7 @@ class PostServiceTest {
 
     @Test
     void updatePost_TitleDuplicate_ThrowsDataExist() {
-        UpdatePostRequest req = new UpdatePostRequest("Dup", "Y", 1);
+        UpdatePostRequest req = new UpdatePostRequest("Dup", "Y");
         when(postRepository.findByIdAndDeletedFalse(1)).thenReturn(Optional.of(testPost));
         doNothing().when(accessValidator).validateAdminOrOwnerAccess(testUser.getId());
         when(postRepository.existsByTitle("Dup")).thenReturn(true);
@@ -213,7 +271,7 @@ class PostServiceTest {
 
     @Test
     void updatePost_AccessDenied_Propagates() {
-        UpdatePostRequest req = new UpdatePostRequest("Upd", "B", 1);
+        UpdatePostRequest req = new UpdatePostRequest("Upd", "B");
         when(postRepository.findByIdAndDeletedFalse(1)).thenReturn(Optional.of(testPost));
         doThrow(new AccessDeniedException("nope"))
                 .when(accessValidator).validateAdminOrOwnerAccess(testUser.getId());
@@ -223,6 +281,7 @@ class PostServiceTest {
         verify(postRepository, never()).existsByTitle(anyString());
         verify(postRepository, never()).save(any());
         verify(kafkaMessageService, never()).sendPostUpdatedMessage(anyInt(), anyInt());
+        verify(kafkaMessageService, never()).sendPostPurgeMessage(anyInt(), anyInt(), any());
     }
 
     @Test
@@ -236,6 +295,7 @@ class PostServiceTest {
         assertTrue(testPost.getDeleted());
         verify(postRepository).save(testPost);
         verify(kafkaMessageService).sendPostDeletedMessage(1, 1);
+        verify(kafkaMessageService).sendPostPurgeMessage(1, 1, ActionType.DELETE);
     }
 
     @Test
@@ -291,16 +351,14 @@ class PostServiceTest {
     }
 
     @Test
-    void searchPosts_usesSpecification_andMapsDTOs() {
+    void searchPosts_usesSpecificationProjection_andMapsDTOs() {
         PostSearchRequest req = new PostSearchRequest();
         Pageable pageable = PageRequest.of(1, 3);
 
-        Post p1 = new Post();
-        p1.setId(21);
-        Post p2 = new Post();
-        p2.setId(22);
-        Page<Post> page = new PageImpl<>(List.of(p1, p2), pageable, 8);
-        when(postRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
+        PostSearchRow p1 = new PostSearchRow(21, "t1", "c1", 0, 0, false, "user", LocalDateTime.now(), LocalDateTime.now());
+        PostSearchRow p2 = new PostSearchRow(22, "t2", "c2", 0, 0, false, "user", LocalDateTime.now(), LocalDateTime.now());
+        Page<PostSearchRow> page = new PageImpl<>(List.of(p1, p2), pageable, 8);
+        when(postRepository.searchRows(any(Specification.class), eq(pageable))).thenReturn(page);
 
         PostSearchDTO d1 = new PostSearchDTO();
         d1.setId(21);
@@ -318,6 +376,196 @@ class PostServiceTest {
         assertEquals(3, resp.getPayload().getPagination().getLimit());
         assertEquals(2, resp.getPayload().getPagination().getPage());
 
-        verify(postRepository).findAll(any(Specification.class), eq(pageable));
+        verify(postRepository).searchRows(any(Specification.class), eq(pageable));
+        verify(postRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void searchPostsAfter_returnsNextCursorWithoutTotal() {
+        PostSearchRow row = new PostSearchRow(21, "t1", "c1", 0, 0, false, "user", LocalDateTime.now(), LocalDateTime.now());
+        KeysetCursor next = new KeysetCursor(Post.ID_FIELD, 21, 21);
+        when(postRepository.searchRowsAfter(any(PostSearchCriteria.class), eq(new KeysetCursor(Post.ID_FIELD, 30, 30)), eq(1)))
+                .thenReturn(new KeysetPage<>(List.of(row), next));
+        PostSearchDTO dto = new PostSearchDTO();
+        dto.setId(21);
+        when(postMapper.toPostSearchDTO(row)).thenReturn(dto);
+
+        IamResponse<PaginationResponse<PostSearchDTO>> resp = postService.searchPostsAfter(
+                new PostSearchRequest(), new KeysetCursor(Post.ID_FIELD, 30, 30).encode(), 1);
+
+        PaginationResponse.Pagination pagination = resp.getPayload().getPagination();
+        assertEquals(List.of(dto), resp.getPayload().getContent());
+        assertNull(pagination.getTotal());
+        assertTrue(pagination.getHasNext());
+        assertEquals(next, KeysetCursor.decode(pagination.getNextCursor()));
+        verify(postRepository, never()).count();
+    }
+
+    @Test
+    void findAllPosts_countNone_returnsSliceWithoutTotal() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(postRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(testPost), pageable, true));
+        PostSearchDTO dto = new PostSearchDTO();
+        dto.setId(1);
+        when(postMapper.toPostSearchDTO(testPost)).thenReturn(dto);
+
+        IamResponse<PaginationResponse<PostSearchDTO>> resp = postService.findAllPosts(pageable, CountMode.NONE);
+
+        PaginationResponse.Pagination pagination = resp.getPayload().getPagination();
+        assertEquals(List.of(dto), resp.getPayload().getContent());
+        assertNull(pagination.getTotal());
+        assertNull(pagination.getEstimated());
+        assertTrue(pagination.getHasNext());
+        verify(postRepository, never()).count();
+        verifyNoInteractions(approximateCounter);
+    }
+
+    @Test
+    void searchPosts_countApproximate_usesCounterForFilteredSearch() {
+        Pageable pageable = PageRequest.of(1, 10);
+        PostSearchRequest request = new PostSearchRequest();
+        request.setTitle("java");
+        when(postRepository.searchRowSlice(any(PostSearchCriteria.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+        when(approximateCounter.count(eq("posts"), eq(Arrays.asList("java", null, null, null, null)), any()))
+                .thenReturn(42L);
+
+        IamResponse<PaginationResponse<PostSearchDTO>> resp = postService.searchPosts(request, pageable, CountMode.APPROXIMATE);
+
+        PaginationResponse.Pagination pagination = resp.getPayload().getPagination();
+        assertEquals(42L, pagination.getTotal());
+        assertEquals(5, pagination.getPages());
+        assertTrue(pagination.getEstimated());
+        assertFalse(pagination.getHasNext());
+        verify(postRepository, never()).countRows(any());
     }
+
+    @Test
+    void searchPosts_ranked_usesFullTextSearch() {
+        ReflectionTestUtils.setField(postService, "fullTextMinLength", 3);
+        Pageable pageable = PageRequest.of(0, 10);
+        PostSearchRequest request = new PostSearchRequest();
+        request.setKeyword("spring boot");
+        request.setRanked(true);
+        RankedPostRow row = new RankedPostRow(
+                new PostSearchRow(1, "Spring", "c", 0, 0, false, "user", LocalDateTime.now(), LocalDateTime.now()), 0.6f, "<mark>Spring</mark>", "c");
+        when(postRepository.searchRanked(request, pageable)).thenReturn(new PageImpl<>(List.of(row), pageable, 1));
+        PostSearchDTO dto = new PostSearchDTO();
+        dto.setRank(0.6f);
+        when(postMapper.toPostSearchDTO(row)).thenReturn(dto);
+
+        IamResponse<PaginationResponse<PostSearchDTO>> resp = postService.searchPosts(request, pageable);
+
+        assertEquals(List.of(dto), resp.getPayload().getContent());
+        assertEquals(1L, resp.getPayload().getPagination().getTotal());
+        verify(postRepository, never()).searchRows(any(), any());
+    }
+
+    @Test
+    void searchPosts_rankedShortFragment_fallsBackToLike() {
+        ReflectionTestUtils.setField(postService, "fullTextMinLength", 3);
+        Pageable pageable = PageRequest.of(0, 10);
+        PostSearchRequest request = new PostSearchRequest();
+        request.setKeyword("ja");
+        request.setRanked(true);
+        when(postRepository.searchRows(any(PostSearchCriteria.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        postService.searchPosts(request, pageable);
+
+        verify(postRepository, never()).searchRanked(any(), any());
+    }
+
+    @Test
+    void searchPosts_indexEngine_loadsRowsInIndexOrder() {
+        Pageable pageable = PageRequest.of(0, 2);
+        PostSearchRequest request = new PostSearchRequest();
+        request.setKeyword("java");
+        when(postSearchIndex.search(request, pageable)).thenReturn(Optional.of(new PageImpl<>(List.of(9, 4), pageable, 3)));
+        PostSearchRow r9 = new PostSearchRow(9, "t9", "c9", 0, 0, false, "user", LocalDateTime.now(), LocalDateTime.now());
+        PostSearchRow r4 = new PostSearchRow(4, "t4", "c4", 0, 0, false, "user", LocalDateTime.now(), LocalDateTime.now());
+        when(postRepository.findRowsByIds(List.of(9, 4))).thenReturn(List.of(r9, r4));
+        PostSearchDTO d9 = new PostSearchDTO();
+        d9.setId(9);
+        PostSearchDTO d4 = new PostSearchDTO();
+        d4.setId(4);
+        when(postMapper.toPostSearchDTO(r9)).thenReturn(d9);
+        when(postMapper.toPostSearchDTO(r4)).thenReturn(d4);
+
+        IamResponse<PaginationResponse<PostSearchDTO>> resp = postService.searchPosts(request, pageable);
+
+        assertEquals(List.of(d9, d4), resp.getPayload().getContent());
+        assertEquals(3L, resp.getPayload().getPagination().getTotal());
+        assertEquals(2, resp.getPayload().getPagination().getPages());
+        verify(postRepository, never()).searchRows(any(), any());
+    }
+
+    @Test
+    void suggestTitles_capsLimitAndMapsEntries() {
+        ReflectionTestUtils.setField(postService, "autocompleteMaxLimit", 5);
+        when(postTitleIndex.suggest("sp", 5)).thenReturn(List.of(new PostTitleEntry(3, "Spring", 7)));
+
+        IamResponse<PostAutocompleteDTO> resp = postService.suggestTitles("sp", 50);
+
+        assertEquals("sp", resp.getPayload().getPrefix());
+        assertEquals(List.of(new PostTitleSuggestionDTO(3, "Spring", 7)), resp.getPayload().getSuggestions());
+    }
+    @Test
+    void likePost_newLike_countsInMemoryWithoutWritingPost() {
+        when(postRepository.findLikesByIdAndDeletedFalse(1)).thenReturn(Optional.of(10));
+        when(apiUtils.getUserIdFromAuthentication()).thenReturn(5);
+        when(postRepository.insertLike(1, 5)).thenReturn(true);
+        when(postLikeService.pendingLikes(1)).thenReturn(2L);
+
+        PostLikeDTO like = postService.likePost(1).getPayload();
+
+        assertTrue(like.getLiked());
+        assertEquals(13L, like.getLikes());
+        verify(postLikeService).registerLikes(1, 1);
+        verify(trendingPostIndex).like(eq(1), eq(1L), any(LocalDateTime.class));
+        verify(postRepository, never()).save(any());
+        verify(postRepository, never()).addLikes(anyMap());
+    }
+
+    @Test
+    void unlikePost_notLiked_changesNothing() {
+        when(postRepository.findLikesByIdAndDeletedFalse(1)).thenReturn(Optional.of(10));
+        when(apiUtils.getUserIdFromAuthentication()).thenReturn(5);
+        when(postRepository.deleteLike(1, 5)).thenReturn(false);
+
+        PostLikeDTO like = postService.unlikePost(1).getPayload();
+
+        assertFalse(like.getLiked());
+        assertEquals(10L, like.getLikes());
+        verify(postLikeService, never()).registerLikes(anyInt(), anyLong());
+    }
+
+    @Test
+    void likePost_deletedPost_Throws() {
+        when(postRepository.findLikesByIdAndDeletedFalse(9)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> postService.likePost(9));
+        verify(postRepository, never()).insertLike(anyInt(), anyInt());
+    }
+
+    @Test
+    void findTrendingPosts_loadsRowsInRankingOrder() {
+        ReflectionTestUtils.setField(postService, "trendingMaxLimit", 2);
+        PostSearchRow first = new PostSearchRow(7, "Hot", "c", 9, 0, false, "TestUser", LocalDateTime.now(), LocalDateTime.now());
+        PostSearchRow second = new PostSearchRow(3, "Warm", "c", 2, 0, false, "TestUser", LocalDateTime.now(), LocalDateTime.now());
+        PostSearchDTO firstDTO = new PostSearchDTO();
+        firstDTO.setId(7);
+        PostSearchDTO secondDTO = new PostSearchDTO();
+        secondDTO.setId(3);
+        when(trendingPostIndex.top(2)).thenReturn(List.of(7, 3));
+        when(postRepository.findRowsByIds(List.of(7, 3))).thenReturn(List.of(first, second));
+        when(postMapper.toPostSearchDTO(first)).thenReturn(firstDTO);
+        when(postMapper.toPostSearchDTO(second)).thenReturn(secondDTO);
+
+        PostTrendingDTO trending = postService.findTrendingPosts(50).getPayload();
+
+        assertEquals(List.of(firstDTO, secondDTO), trending.getPosts());
+        verify(postRepository, never()).findAll(any(Pageable.class));
+    }
+
 }
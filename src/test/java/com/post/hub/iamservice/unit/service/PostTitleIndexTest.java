@@ -0,0 +1,85 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.post.hub.iamservice.model.entities.Post;
+import com.post.hub.iamservice.repository.projection.PostTitleEntry;
+import com.post.hub.iamservice.service.index.PostTitleIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("unit")
+class PostTitleIndexTest {
+
+    @Test
+    void suggest_matchesPrefixIgnoringCase_mostLikedFirst() {
+        PostTitleIndex index = new PostTitleIndex(1024);
+        index.rebuild(Stream.of(
+                new PostTitleEntry(1, "Spring Boot basics", 3),
+                new PostTitleEntry(2, "spring data tricks", 10),
+                new PostTitleEntry(3, "Springfield", 1),
+                new PostTitleEntry(4, "Summer", 99)));
+
+        List<PostTitleEntry> suggestions = index.suggest("SPRING", 2);
+
+        assertThat(suggestions).extracting(PostTitleEntry::id).containsExactly(2, 1);
+    }
+
+    @Test
+    void suggest_findsPrefixesAcrossFrontCodedBlocks() {
+        PostTitleIndex index = new PostTitleIndex(1024);
+        index.rebuild(IntStream.range(0, 100)
+                .mapToObj(i -> new PostTitleEntry(i, "title " + String.format("%03d", i), i)));
+
+        assertThat(index.suggest("title 04", 20)).extracting(PostTitleEntry::id)
+                .containsExactly(49, 48, 47, 46, 45, 44, 43, 42, 41, 40);
+        assertThat(index.suggest("title 099", 5)).extracting(PostTitleEntry::title).containsExactly("title 099");
+        assertThat(index.suggest("x", 5)).isEmpty();
+    }
+
+    @Test
+    void put_updatesAndRemovesTitlesBeforeAndAfterMerge() {
+        PostTitleIndex index = new PostTitleIndex(2);
+        index.rebuild(Stream.of(new PostTitleEntry(1, "Old title", 1), new PostTitleEntry(2, "Other", 1)));
+
+        index.put(post(1, "New title", false));
+        assertThat(index.suggest("old", 5)).isEmpty();
+        assertThat(index.suggest("new", 5)).extracting(PostTitleEntry::id).containsExactly(1);
+
+        index.put(post(2, "Other", true));
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.suggest("o", 5)).isEmpty();
+        assertThat(index.suggest("new", 5)).extracting(PostTitleEntry::id).containsExactly(1);
+    }
+
+    @Test
+    void updateLikes_reranksByFlushedTotals_withoutResurrectingRemovedPosts() {
+        PostTitleIndex index = new PostTitleIndex(1024);
+        index.rebuild(Stream.of(
+                new PostTitleEntry(1, "Spring one", 5),
+                new PostTitleEntry(2, "Spring two", 1),
+                new PostTitleEntry(3, "Spring three", 0)));
+        index.remove(3);
+
+        index.updateLikes(List.of(
+                new PostTitleEntry(2, "Spring two", 9),
+                new PostTitleEntry(3, "Spring three", 20),
+                new PostTitleEntry(4, null, 50)));
+
+        assertThat(index.suggest("spring", 5)).extracting(PostTitleEntry::id).containsExactly(2, 1);
+    }
+
+    private static Post post(int id, String title, boolean deleted) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle(title);
+        post.setLikes(1);
+        post.setDeleted(deleted);
+        return post;
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.post.hub.iamservice.service.index.TextIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("unit")
+class TextIndexTest {
+
+    private static final Set<String> BOTH = Set.of("title", "content");
+
+    @Test
+    void search_matchesWordPrefixesAcrossFields_newestFirst() {
+        TextIndex index = new TextIndex();
+        index.put(1, Map.of("title", "Java streams", "content", "collectors"), false);
+        index.put(2, Map.of("title", "Kotlin", "content", "Coroutines on the JVM, not Java"), false);
+        index.put(3, Map.of("title", "Go", "content", "channels"), false);
+
+        Page<Integer> page = index.search(List.of(new TextIndex.Clause(BOTH, "JAV")), null, PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).containsExactly(2, 1);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void search_requiresEveryWordAndRespectsFields() {
+        TextIndex index = new TextIndex();
+        index.put(1, Map.of("title", "Java streams", "content", "collectors"), false);
+        index.put(2, Map.of("title", "Streams", "content", "java"), false);
+
+        List<TextIndex.Clause> clauses = List.of(
+                new TextIndex.Clause(Set.of("title"), "java"),
+                new TextIndex.Clause(BOTH, "stream coll"));
+
+        assertThat(index.search(clauses, null, PageRequest.of(0, 10)).getContent()).containsExactly(1);
+    }
+
+    @Test
+    void put_replacesPreviousTermsAndDeletedFilterApplies() {
+        TextIndex index = new TextIndex();
+        index.put(1, Map.of("title", "old words"), false);
+        index.put(1, Map.of("title", "new words"), false);
+        index.put(2, Map.of("title", "new ideas"), true);
+
+        assertThat(index.search(List.of(new TextIndex.Clause(Set.of("title"), "old")), null, PageRequest.of(0, 10))
+                .getContent()).isEmpty();
+        assertThat(index.search(List.of(new TextIndex.Clause(Set.of("title"), "new")), false, PageRequest.of(0, 10))
+                .getContent()).containsExactly(1);
+        assertThat(index.search(List.of(new TextIndex.Clause(Set.of("title"), "new")), true, PageRequest.of(0, 10))
+                .getContent()).containsExactly(2);
+    }
+
+    @Test
+    void search_pagesFromOffset() {
+        TextIndex index = new TextIndex();
+        for (int id = 1; id <= 5; id++) {
+            index.put(id, Map.of("title", "post " + id), false);
+        }
+
+        Page<Integer> page = index.search(List.of(new TextIndex.Clause(Set.of("title"), "post")), null, PageRequest.of(1, 2));
+
+        assertThat(page.getContent()).containsExactly(3, 2);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.post.hub.iamservice.model.entities.Post;
+import com.post.hub.iamservice.repository.projection.TrendingPostEntry;
+import com.post.hub.iamservice.service.index.TrendingPostIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("unit")
+class TrendingPostIndexTest {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Test
+    void rebuild_decaysOldLikes_andCountsUnrecordedLikesAtCreation() {
+        TrendingPostIndex index = new TrendingPostIndex(Duration.ofHours(1), 1);
+        index.rebuild(Stream.of(
+                // 100 likes a day ago are worth less than one like right now
+                new TrendingPostEntry(1, EPOCH.minusDays(1), 100, 0L, 0.0),
+                new TrendingPostEntry(2, EPOCH.minusDays(1), 0, 1L, 1.0),
+                // likes without post_likes rows date back to creation, two hours ago: (1 + 8) / 4
+                new TrendingPostEntry(3, EPOCH.minusHours(2), 8, 0L, 0.0)), EPOCH);
+
+        assertThat(index.top(10)).containsExactly(3, 2, 1);
+        assertThat(index.top(1)).containsExactly(3);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void like_movesPostUp_andRemoveDropsIt() {
+        TrendingPostIndex index = new TrendingPostIndex(Duration.ofHours(1), 1);
+        index.rebuild(Stream.of(
+                new TrendingPostEntry(1, EPOCH, 5, 0L, 0.0),
+                new TrendingPostEntry(2, EPOCH, 0, 0L, 0.0)), EPOCH);
+
+        index.like(2, 1, EPOCH.plusHours(3));
+        assertThat(index.top(2)).containsExactly(2, 1);
+
+        index.like(2, -1, EPOCH.plusHours(3));
+        assertThat(index.top(2)).containsExactly(1, 2);
+
+        index.remove(1);
+        index.like(1, 1, EPOCH);
+        assertThat(index.top(2)).containsExactly(2);
+    }
+
+    @Test
+    void put_addsNewPostsOnce_andDropsDeletedOnes() {
+        TrendingPostIndex index = new TrendingPostIndex(Duration.ofHours(1), 1);
+        index.rebuild(Stream.of(new TrendingPostEntry(1, EPOCH, 3, 0L, 0.0)), EPOCH);
+
+        Post post = post(2, EPOCH.plusHours(2), 0);
+        index.put(post);
+        assertThat(index.top(2)).containsExactly(2, 1);
+
+        // editing the likes of a ranked post does not rescore it, only like events do
+        index.put(post(1, EPOCH, 100));
+        assertThat(index.top(2)).containsExactly(2, 1);
+
+        post.setDeleted(true);
+        index.put(post);
+        assertThat(index.top(2)).containsExactly(1);
+    }
+
+    @Test
+    void like_farInTheFuture_rescalesWithoutChangingOrder() {
+        TrendingPostIndex index = new TrendingPostIndex(Duration.ofMinutes(1), 1);
+        index.rebuild(Stream.of(
+                new TrendingPostEntry(1, EPOCH, 2, 0L, 0.0),
+                new TrendingPostEntry(2, EPOCH, 1, 0L, 0.0),
+                new TrendingPostEntry(3, EPOCH, 0, 0L, 0.0)), EPOCH);
+
+        LocalDateTime later = EPOCH.plusDays(30);
+        index.like(3, 1, later);
+        index.like(2, 2, later.plusMinutes(1));
+
+        assertThat(index.top(3)).containsExactly(2, 3, 1);
+    }
+
+    @Test
+    void like_triggeringRescale_scalesDownTheLikedPostToo() {
+        TrendingPostIndex index = new TrendingPostIndex(Duration.ofMinutes(1), 1);
+        index.rebuild(Stream.of(
+                new TrendingPostEntry(1, EPOCH, 1000, 0L, 0.0),
+                new TrendingPostEntry(2, EPOCH, 0, 0L, 0.0)), EPOCH);
+
+        LocalDateTime later = EPOCH.plusDays(30);
+        // the old likes of post 1 are worth nothing by now, its single new like has to lose to two
+        index.like(1, 1, later);
+        index.like(2, 2, later);
+
+        assertThat(index.top(2)).containsExactly(2, 1);
+    }
+
+    private static Post post(Integer id, LocalDateTime created, Integer likes) {
+        Post post = new Post();
+        post.setId(id);
+        post.setCreated(created);
+        post.setLikes(likes);
+        return post;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.post.hub.iamservice.model.dto.user.UserAvailabilityDTO;
+import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.repository.projection.UserIdentity;
+import com.post.hub.iamservice.service.impl.UserAvailabilityServiceImpl;
+import com.post.hub.iamservice.service.index.UserIdentityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+@Tag("unit")
+class UserAvailabilityServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserIdentityIndex userIdentityIndex;
+    private UserAvailabilityServiceImpl userAvailabilityService;
+
+    @BeforeEach
+    void setUp() {
+        userIdentityIndex = new UserIdentityIndex();
+        userAvailabilityService = new UserAvailabilityServiceImpl(userRepository, userIdentityIndex, transactionManager);
+        ReflectionTestUtils.setField(userAvailabilityService, "suggestionsLimit", 3);
+
+        when(userRepository.streamAllIdentities()).thenReturn(Stream.of(
+                new UserIdentity("john", "john@mail.com"),
+                new UserIdentity("john1", "john1@mail.com"),
+                new UserIdentity("john3", "john3@mail.com")
+        ));
+        userAvailabilityService.rebuildIndex();
+    }
+
+    @Test
+    void checkAvailability_FreeUsername_NoSuggestions() {
+        UserAvailabilityDTO result = userAvailabilityService.checkAvailability("jane", null).getPayload();
+
+        assertTrue(result.getUsernameAvailable());
+        assertThat(result.getSuggestions()).isEmpty();
+        assertNull(result.getEmailAvailable());
+    }
+
+    @Test
+    void checkAvailability_TakenUsername_SuggestsFreeNames() {
+        UserAvailabilityDTO result = userAvailabilityService.checkAvailability("john", "new@mail.com").getPayload();
+
+        assertFalse(result.getUsernameAvailable());
+        assertThat(result.getSuggestions()).containsExactly("john2", "john4", "john5");
+        assertTrue(result.getEmailAvailable());
+    }
+
+    @Test
+    void checkAvailability_TakenEmail() {
+        UserAvailabilityDTO result = userAvailabilityService.checkAvailability(null, "john3@mail.com").getPayload();
+
+        assertFalse(result.getEmailAvailable());
+        assertNull(result.getUsernameAvailable());
+    }
+
+    @Test
+    void checkAvailability_ReflectsIndexUpdates() {
+        userIdentityIndex.replace("john", "john@mail.com", "johnny", "johnny@mail.com");
+        userIdentityIndex.add("jane", "jane@mail.com");
+
+        assertTrue(userAvailabilityService.checkAvailability("john", "john@mail.com").getPayload().getUsernameAvailable());
+        assertFalse(userAvailabilityService.checkAvailability("johnny", null).getPayload().getUsernameAvailable());
+        assertFalse(userAvailabilityService.checkAvailability(null, "jane@mail.com").getPayload().getEmailAvailable());
+    }
+
+    @Test
+    void suggestUsernames_RespectsMaxLength() {
+        String longName = "a".repeat(30);
+        userIdentityIndex.add(longName, null);
+
+        assertThat(userIdentityIndex.suggestUsernames(longName, 2, 30))
+                .containsExactly("a".repeat(29) + "1", "a".repeat(29) + "2");
+    }
+
+}
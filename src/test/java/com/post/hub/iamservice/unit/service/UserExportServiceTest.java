@@ -0,0 +1,84 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.post.hub.iamservice.model.dto.role.RoleDTO;
+import com.post.hub.iamservice.model.dto.user.UserSearchDTO;
+import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.service.impl.UserExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+@Tag("unit")
+class UserExportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private UserExportServiceImpl userExportService;
+
+    @BeforeEach
+    void setUp() {
+        userExportService = new UserExportServiceImpl(userRepository, objectMapper);
+        ReflectionTestUtils.setField(userExportService, "pageSize", 2);
+    }
+
+    @Test
+    void exportUsers_walksPagesByLastId_andWritesOneLinePerUser() throws Exception {
+        when(userRepository.exportUsersAfter(isNull(), eq(2), any())).thenAnswer(inv -> emit(inv.getArgument(2), 1, 2));
+        when(userRepository.exportUsersAfter(eq(2), eq(2), any())).thenAnswer(inv -> emit(inv.getArgument(2), 5));
+        when(userRepository.exportUsersAfter(eq(5), eq(2), any())).thenReturn(null);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userExportService.exportUsers(null, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).trim().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(1, objectMapper.readValue(lines[0], UserSearchDTO.class).getId());
+        assertEquals(5, objectMapper.readValue(lines[2], UserSearchDTO.class).getId());
+        assertEquals("USER", objectMapper.readValue(lines[2], UserSearchDTO.class).getRoles().get(0).getName());
+        verify(userRepository, times(3)).exportUsersAfter(any(), eq(2), any());
+    }
+
+    @Test
+    void exportUsers_resumesAfterGivenId() throws Exception {
+        when(userRepository.exportUsersAfter(eq(10), eq(2), any())).thenReturn(null);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userExportService.exportUsers(10, output);
+
+        assertEquals(0, output.size());
+        verify(userRepository).exportUsersAfter(eq(10), eq(2), any());
+    }
+
+    private static Integer emit(Consumer<UserSearchDTO> consumer, Integer... ids) {
+        for (Integer id : ids) {
+            UserSearchDTO user = new UserSearchDTO();
+            user.setId(id);
+            user.setUsername("user" + id);
+            user.setRoles(List.of(new RoleDTO(1, "USER")));
+            consumer.accept(user);
+        }
+        return ids[ids.length - 1];
+    }
+
+}
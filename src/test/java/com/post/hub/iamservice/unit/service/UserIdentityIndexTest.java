@@ -0,0 +1,63 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.post.hub.iamservice.repository.projection.UserIdentity;
+import com.post.hub.iamservice.service.index.UserIdentityIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("unit")
+class UserIdentityIndexTest {
+
+    private final UserIdentityIndex index = new UserIdentityIndex();
+
+    @Test
+    void rebuild_keepsWritesMadeWhileReadingSnapshot() {
+        index.add("renamed", "old@mail.com");
+
+        // the snapshot was read before both writes committed
+        Stream<UserIdentity> snapshot = Stream.of(new UserIdentity("renamed", "old@mail.com"))
+                .peek(identity -> {
+                    index.add("registered", "registered@mail.com");
+                    index.replace("renamed", "old@mail.com", "renamed", "new@mail.com");
+                });
+        index.rebuild(() -> snapshot);
+
+        assertThat(index.isUsernameTaken("registered")).isTrue();
+        assertThat(index.isEmailTaken("registered@mail.com")).isTrue();
+        assertThat(index.isEmailTaken("new@mail.com")).isTrue();
+        assertThat(index.isEmailTaken("old@mail.com")).isFalse();
+    }
+
+    @Test
+    void rebuild_recordsWritesBeforeOpeningSnapshot() {
+        // a registration whose afterCommit add runs after the query took its snapshot but before it is read
+        index.rebuild(() -> {
+            index.add("late", "late@mail.com");
+            return Stream.of(new UserIdentity("early", "early@mail.com"));
+        });
+
+        assertThat(index.isUsernameTaken("early")).isTrue();
+        assertThat(index.isUsernameTaken("late")).isTrue();
+        assertThat(index.isEmailTaken("late@mail.com")).isTrue();
+    }
+
+    @Test
+    void rebuild_failedSnapshot_keepsCurrentSetsAndStopsRecording() {
+        index.add("kept", "kept@mail.com");
+
+        assertThatThrownBy(() -> index.rebuild(() -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+        index.add("after", "after@mail.com");
+        index.rebuild(Stream::empty);
+
+        assertThat(index.isUsernameTaken("kept")).isFalse();
+        assertThat(index.isUsernameTaken("after")).isFalse();
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.post.hub.iamservice.unit.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.post.hub.iamservice.kafka.service.KafkaMessageService;
+import com.post.hub.iamservice.mapper.UserMapper;
+import com.post.hub.iamservice.model.constants.CacheNames;
+import com.post.hub.iamservice.model.dto.user.UserImportResultDTO;
+import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.model.enums.RegistrationStatus;
+import com.post.hub.iamservice.model.enums.UserImportStatus;
+import com.post.hub.iamservice.model.request.user.NewUserRequest;
+import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.service.impl.UserImportServiceImpl;
+import com.post.hub.iamservice.service.index.UserIdentityIndex;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+@Tag("unit")
+class UserImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private KafkaMessageService kafkaMessageService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private ExecutorService hashingExecutor;
+    private UserIdentityIndex userIdentityIndex;
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    void setUp() {
+        hashingExecutor = Executors.newFixedThreadPool(2);
+        userIdentityIndex = new UserIdentityIndex();
+        userIdentityIndex.add("taken", "taken@mail.com");
+        userImportService = new UserImportServiceImpl(userRepository, userMapper, passwordEncoder, userIdentityIndex,
+                kafkaMessageService, objectMapper, validator, hashingExecutor, transactionManager,
+                new ConcurrentMapCacheManager(CacheNames.USERS));
+        ReflectionTestUtils.setField(userImportService, "batchSize", 2);
+
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(inv -> "ENC(" + inv.getArgument(0) + ")");
+        lenient().when(userMapper.createUser(any(NewUserRequest.class))).thenAnswer(inv -> {
+            NewUserRequest request = inv.getArgument(0);
+            User user = new User();
+            user.setUsername(request.getUsername());
+            user.setEmail(request.getEmail());
+            user.setRegistrationStatus(RegistrationStatus.ACTIVE);
+            return user;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    @Test
+    void importUsers_Ndjson_ReportsEveryLine_AndSkipsBadRows() throws Exception {
+        String body = """
+                {"username":"alice","password":"pass1","email":"alice@mail.com"}
+                {not json}
+                {"username":"taken","password":"pass2","email":"fresh@mail.com"}
+                {"username":"","password":"pass3","email":"blank@mail.com"}
+                {"username":"bob","password":"pass4","email":"bob@mail.com"}
+                {"username":"alice","password":"pass5","email":"alice2@mail.com"}
+                """;
+        when(userRepository.batchInsertUsers(anyList(), eq("USER")))
+                .thenAnswer(inv -> ids(inv.getArgument(0), 100));
+
+        List<UserImportResultDTO> results = runImport(body, MediaType.APPLICATION_NDJSON);
+
+        assertThat(results).extracting(UserImportResultDTO::getLine).containsExactly(1, 2, 3, 4, 5, 6);
+        assertThat(results).extracting(UserImportResultDTO::getStatus).containsExactly(
+                UserImportStatus.CREATED,
+                UserImportStatus.INVALID,
+                UserImportStatus.DUPLICATE,
+                UserImportStatus.INVALID,
+                UserImportStatus.CREATED,
+                UserImportStatus.DUPLICATE
+        );
+        assertNotNull(results.get(0).getUserId());
+        assertTrue(userIdentityIndex.isUsernameTaken("alice"));
+        assertTrue(userIdentityIndex.isEmailTaken("bob@mail.com"));
+        verify(kafkaMessageService, times(2)).sendUserCreatedMessage(anyInt(), anyString());
+        verify(passwordEncoder, times(2)).encode(anyString());
+    }
+
+    @Test
+    void importUsers_Csv_ParsesQuotedFields_AndReportsDatabaseConflicts() throws Exception {
+        String body = """
+                email,username,password
+                carol@mail.com,carol,"pa,ss""1"
+                dave@mail.com,dave,pass2
+                """;
+        when(userRepository.batchInsertUsers(anyList(), eq("USER"))).thenAnswer(inv -> {
+            List<Integer> ids = new ArrayList<>();
+            ids.add(7);
+            ids.add(null);
+            return ids;
+        });
+
+        List<UserImportResultDTO> results = runImport(body, MediaType.parseMediaType("text/csv"));
+
+        assertThat(results).extracting(UserImportResultDTO::getStatus)
+                .containsExactly(UserImportStatus.CREATED, UserImportStatus.DUPLICATE);
+        assertEquals(2, results.get(0).getLine());
+        assertEquals(7, results.get(0).getUserId());
+        verify(passwordEncoder).encode("pa,ss\"1");
+    }
+
+    @Test
+    void importUsers_Csv_InvalidHeader_ReportsSingleInvalidLine() throws Exception {
+        List<UserImportResultDTO> results = runImport("name,email\nx,y\n", MediaType.parseMediaType("text/csv"));
+
+        assertThat(results).hasSize(1);
+        assertEquals(UserImportStatus.INVALID, results.get(0).getStatus());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void importUsers_BatchFails_RetriesRowByRow_AndIsolatesBadRow() throws Exception {
+        String body = """
+                {"username":"erin","password":"pass1","email":"erin@mail.com"}
+                {"username":"frank","password":"pass2","email":"frank@mail.com"}
+                """;
+        when(userRepository.batchInsertUsers(anyList(), eq("USER"))).thenAnswer(inv -> {
+            List<User> users = inv.getArgument(0);
+            if (users.size() > 1 || users.get(0).getUsername().equals("frank")) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return List.of(11);
+        });
+
+        List<UserImportResultDTO> results = runImport(body, MediaType.APPLICATION_NDJSON);
+
+        assertThat(results).extracting(UserImportResultDTO::getStatus)
+                .containsExactly(UserImportStatus.CREATED, UserImportStatus.FAILED);
+        assertEquals(11, results.get(0).getUserId());
+    }
+
+    @Test
+    void importUsers_PasswordOverBcryptLimit_ReportsRowAndContinues() throws Exception {
+        userImportService = new UserImportServiceImpl(userRepository, userMapper, new BCryptPasswordEncoder(4),
+                userIdentityIndex, kafkaMessageService, objectMapper, validator, hashingExecutor, transactionManager,
+                new ConcurrentMapCacheManager(CacheNames.USERS));
+        ReflectionTestUtils.setField(userImportService, "batchSize", 2);
+        // 37 characters, 73 bytes in UTF-8
+        String password = "a" + "\u00e9".repeat(36);
+        String body = """
+                {"username":"gina","password":"%s","email":"gina@mail.com"}
+                {"username":"hank","password":"pass2","email":"hank@mail.com"}
+                {"username":"iris","password":"pass3","email":"iris@mail.com"}
+                """.formatted(password);
+        when(userRepository.batchInsertUsers(anyList(), eq("USER")))
+                .thenAnswer(inv -> ids(inv.getArgument(0), 20));
+
+        List<UserImportResultDTO> results = runImport(body, MediaType.APPLICATION_NDJSON);
+
+        assertThat(results).extracting(UserImportResultDTO::getStatus).containsExactly(
+                UserImportStatus.INVALID, UserImportStatus.CREATED, UserImportStatus.CREATED);
+        assertThat(results.get(0).getMessage()).startsWith("password: ");
+        assertEquals(20, results.get(1).getUserId());
+    }
+
+    private List<UserImportResultDTO> runImport(String body, MediaType contentType) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userImportService.importUsers(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), contentType, output);
+
+        List<UserImportResultDTO> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readValue(line, UserImportResultDTO.class));
+            }
+        }
+        return results;
+    }
+
+    private static List<Integer> ids(List<User> users, int firstId) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            ids.add(firstId + i);
+        }
+        return ids;
+    }
+
+}
@@ -6,6 +6,7 @@ import com.post.hub.iamservice.model.dto.user.UserDTO;
 import com.post.hub.iamservice.model.dto.user.UserSearchDTO;
 import com.post.hub.iamservice.model.entities.Role;
 import com.post.hub.iamservice.model.entities.User;
+import com.post.hub.iamservice.model.enums.RegistrationStatus;
 import com.post.hub.iamservice.model.exception.DataExistException;
 import com.post.hub.iamservice.model.exception.NotFoundException;
 import com.post.hub.iamservice.model.request.user.NewUserRequest;
@@ -15,8 +16,12 @@ import com.post.hub.iamservice.model.response.IamResponse;
 import com.post.hub.iamservice.model.response.PaginationResponse;
 import com.post.hub.iamservice.repository.RoleRepository;
 import com.post.hub.iamservice.repository.UserRepository;
+import com.post.hub.iamservice.repository.projection.UserRoleRow;
+import com.post.hub.iamservice.repository.projection.UserSearchRow;
 import com.post.hub.iamservice.security.validation.AccessValidator;
+import com.post.hub.iamservice.service.LastLoginService;
 import com.post.hub.iamservice.service.impl.UserServiceImpl;
+import com.post.hub.iamservice.service.index.UserIdentityIndex;
 import com.post.hub.iamservice.service.model.IamServiceUserRole;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -71,6 +76,12 @@ class UserServiceTest {
     @Mock
     private KafkaMessageService kafkaMessageService;
 
+    @Mock
+    private LastLoginService lastLoginService;
+
+    @Mock
+    private UserIdentityIndex userIdentityIndex;
+
     private User testUser;
     private UserDTO testUserDTO;
     private Role superAdminRole;
@@ -150,6 +161,7 @@ class UserServiceTest {
         verify(userMapper).toDTO(newUser);
         verify(userMapper).createUser(request);
         verify(kafkaMessageService).sendUserCreatedMessage(newUser.getId(), newUser.getUsername());
+        verify(userIdentityIndex).add("NewUser", "newuser@gmail.com");
     }
 
     @Test
@@ -225,6 +237,7 @@ class UserServiceTest {
         verify(userRepository).existsByEmail("upd@mail.com");
         verify(userRepository).save(any(User.class));
         verify(kafkaMessageService).sendUserUpdatedMessage(1, "updName");
+        verify(userIdentityIndex).replace("TestUser", "testuser@gmail.com", "updName", "upd@mail.com");
     }
 
     @Test
@@ -330,16 +343,15 @@ class UserServiceTest {
     }
 
     @Test
-    void searchUsers_usesSpecification_andMapsDTOs() {
+    void searchUsers_usesSpecificationProjection_andAttachesRoles() {
         UserSearchRequest req = new UserSearchRequest();
         Pageable pageable = PageRequest.of(1, 3);
 
-        User u1 = new User();
-        u1.setId(21);
-        User u2 = new User();
-        u2.setId(22);
-        Page<User> page = new PageImpl<>(List.of(u1, u2), pageable, 7);
-        when(userRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
+        UserSearchRow u1 = new UserSearchRow(21, "u1", "u1@mail.com", RegistrationStatus.ACTIVE, LocalDateTime.now(), false, LocalDateTime.now());
+        UserSearchRow u2 = new UserSearchRow(22, "u2", "u2@mail.com", RegistrationStatus.ACTIVE, LocalDateTime.now(), false, LocalDateTime.now());
+        Page<UserSearchRow> page = new PageImpl<>(List.of(u1, u2), pageable, 7);
+        when(userRepository.searchRows(any(Specification.class), eq(pageable))).thenReturn(page);
+        when(userRepository.findRolesByUserIds(List.of(21, 22))).thenReturn(List.of(new UserRoleRow(21, 3, "USER")));
 
         UserSearchDTO d1 = new UserSearchDTO();
         d1.setId(21);
@@ -357,11 +369,13 @@ class UserServiceTest {
         assertEquals(3, resp.getPayload().getPagination().getLimit());
         assertEquals(2, resp.getPayload().getPagination().getPage());
 
-        verify(userRepository).findAll(any(Specification.class), eq(pageable));
+        assertEquals("USER", resp.getPayload().getContent().get(0).getRoles().get(0).getName());
+        assertTrue(resp.getPayload().getContent().get(1).getRoles().isEmpty());
+        verify(userRepository).searchRows(any(Specification.class), eq(pageable));
     }
 
     @Test
-    void loadUserByUsername_updatesLastLogin_andMapsAuthorities() {
+    void loadUserByUsername_buffersLastLogin_andMapsAuthorities() {
         Role admin = new Role();
         admin.setName("ADMIN");
         User dbUser = new User();
@@ -371,7 +385,6 @@ class UserServiceTest {
         dbUser.setRoles(Set.of(admin, superAdminRole));
 
         when(userRepository.findByEmail("admin@mail.com")).thenReturn(Optional.of(dbUser));
-        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
         UserDetails ud = userService.loadUserByUsername("admin@mail.com");
 
@@ -381,7 +394,7 @@ class UserServiceTest {
                 .extracting(Object::toString)
                 .containsExactlyInAnyOrder("ADMIN", "SUPER_ADMIN");
 
-        verify(userRepository).save(dbUser);
-        assertNotNull(dbUser.getLastLogin());
+        verify(lastLoginService).registerLogin(eq(5), any(LocalDateTime.class));
+        verify(userRepository, never()).save(any());
     }
 }
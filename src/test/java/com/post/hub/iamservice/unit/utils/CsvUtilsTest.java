@@ -0,0 +1,36 @@
+package com.post.hub.iamservice.unit.utils;
+
+import com.post.hub.iamservice.model.exception.InvalidDataException;
+import com.post.hub.iamservice.utils.CsvUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.List;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Tag("unit")
+class CsvUtilsTest {
+
+    @Test
+    void parseLine_splitsPlainFields() {
+        Assertions.assertEquals(List.of("a", "b", "c"), CsvUtils.parseLine("a,b,c"));
+    }
+
+    @Test
+    void parseLine_keepsEmptyFields() {
+        Assertions.assertEquals(List.of("", "b", ""), CsvUtils.parseLine(",b,"));
+    }
+
+    @Test
+    void parseLine_handlesQuotedSeparatorsAndEscapedQuotes() {
+        Assertions.assertEquals(List.of("x", "a,\"b\"", "y"), CsvUtils.parseLine("x,\"a,\"\"b\"\"\",y"));
+    }
+
+    @Test
+    void parseLine_throwsOnUnterminatedQuote() {
+        Assertions.assertThrows(InvalidDataException.class, () -> CsvUtils.parseLine("a,\"b"));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.post.hub.iamservice.unit.utils;
+
+import com.post.hub.iamservice.model.dto.post.PostSearchDTO;
+import com.post.hub.iamservice.utils.HttpCacheUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@Tag("unit")
+class HttpCacheUtilsTest {
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Test
+    void pageEtag_ignoresCounters_butFollowsEditsAndOrder() {
+        String etag = etag(post(1, UPDATED, 0), post(2, UPDATED, 0));
+
+        assertEquals(etag, etag(post(1, UPDATED, 5), post(2, UPDATED, 7)));
+        assertNotEquals(etag, etag(post(1, UPDATED.plusSeconds(1), 0), post(2, UPDATED, 0)));
+        assertNotEquals(etag, etag(post(2, UPDATED, 0), post(1, UPDATED, 0)));
+    }
+
+    private static String etag(PostSearchDTO... posts) {
+        return HttpCacheUtils.pageEtag(List.of(posts), PostSearchDTO::getId, PostSearchDTO::getUpdated, null);
+    }
+
+    private static PostSearchDTO post(int id, LocalDateTime updated, int likes) {
+        PostSearchDTO post = new PostSearchDTO();
+        post.setId(id);
+        post.setUpdated(updated);
+        post.setLikes(likes);
+        return post;
+    }
+
+}
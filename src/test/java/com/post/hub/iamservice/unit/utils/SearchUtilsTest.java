@@ -0,0 +1,29 @@
+package com.post.hub.iamservice.unit.utils;
+
+import com.post.hub.iamservice.utils.SearchUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("unit")
+class SearchUtilsTest {
+
+    @Test
+    void containsPattern_lowerCasesAndWraps() {
+        assertEquals("%john%", SearchUtils.containsPattern(" John "));
+    }
+
+    @Test
+    void containsPattern_escapesLikeWildcards() {
+        assertEquals("%50\\%\\_off\\\\%", SearchUtils.containsPattern("50%_off\\"));
+    }
+
+    @Test
+    void highlight_escapesTextAndMarksOnlyDelimiters() {
+        String headline = "<b>" + SearchUtils.HIGHLIGHT_START + "Spring" + SearchUtils.HIGHLIGHT_STOP + "</b> & <mark>";
+
+        assertEquals("&lt;b&gt;<mark>Spring</mark>&lt;/b&gt; &amp; &lt;mark&gt;", SearchUtils.highlight(headline));
+    }
+
+}
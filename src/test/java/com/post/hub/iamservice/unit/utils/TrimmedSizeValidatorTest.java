@@ -0,0 +1,53 @@
+package com.post.hub.iamservice.unit.utils;
+
+import com.post.hub.iamservice.model.request.user.UserSearchRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+class TrimmedSizeValidatorTest {
+    private static ValidatorFactory factory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        factory.close();
+    }
+
+    @Test
+    void blankSearchValue_isRejected() {
+        UserSearchRequest request = new UserSearchRequest();
+        request.setUsername("   ");
+
+        assertEquals(1, validator.validate(request).size());
+    }
+
+    @Test
+    void paddedSearchValue_countsTrimmedLength() {
+        UserSearchRequest request = new UserSearchRequest();
+        request.setUsername(" jo ");
+        request.setKeyword(" john ");
+
+        assertEquals(1, validator.validate(request).size());
+    }
+
+    @Test
+    void missingSearchValue_isValid() {
+        assertTrue(validator.validate(new UserSearchRequest()).isEmpty());
+    }
+
+}